@@ -0,0 +1,99 @@
+package org.bionlpst.app;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.corpus.Corpus;
+import org.bionlpst.util.message.CheckLogger;
+import org.bionlpst.util.message.CheckMessage;
+
+/**
+ * Cache of reference corpora keyed by task and set.
+ * Each reference corpus is read once, checked against the reference schema of the task, and frozen.
+ * Callers get a full copy of the reference corpus where they can load predictions and resolve references, then they only need to check the copy with Task.checkPredictionSchema().
+ * Messages issued while reading and checking a reference corpus are added to the logger of each caller.
+ * @author rbossy
+ *
+ */
+public class ReferenceCorpusCache {
+	private final Map<String,Entry> entries = new HashMap<String,Entry>();
+
+	public ReferenceCorpusCache() {
+		super();
+	}
+
+	/**
+	 * Returns a copy of the reference corpus of the specified task and set.
+	 * @param logger message container where to store warnings and errors.
+	 * @param task task.
+	 * @param set set name, one of train, dev, train+dev, test.
+	 * @return a copy of the reference corpus, the prediction annotation sets are empty and references are not resolved.
+	 * @see Corpus#Corpus(Corpus)
+	 * @see Task#checkPredictionSchema(CheckLogger, Corpus)
+	 * @throws BioNLPSTException if the set name is unknown or if the task has no such set.
+	 * @throws IOException
+	 */
+	public Corpus getCorpus(CheckLogger logger, Task task, String set) throws BioNLPSTException, IOException {
+		Entry entry = getEntry(task.getName() + "/" + set);
+		Corpus reference = entry.getReference(task, set);
+		for (CheckMessage msg : entry.messages) {
+			logger.addMessage(msg);
+		}
+		return new Corpus(reference);
+	}
+
+	private synchronized Entry getEntry(String key) {
+		if (entries.containsKey(key)) {
+			return entries.get(key);
+		}
+		Entry result = new Entry();
+		entries.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Removes all reference corpora from this cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private static class Entry {
+		private Corpus reference = null;
+		private final Collection<CheckMessage> messages = new ArrayList<CheckMessage>();
+
+		private Entry() {
+			super();
+		}
+
+		private synchronized Corpus getReference(Task task, String set) throws BioNLPSTException, IOException {
+			if (reference == null) {
+				CheckLogger logger = new CheckLogger();
+				Corpus corpus = load(logger, task, set);
+				// resolution messages are issued again when each copy is resolved
+				corpus.resolveReferences(new CheckLogger());
+				task.checkReferenceSchema(logger, corpus);
+				corpus.freeze();
+				reference = corpus;
+				messages.addAll(logger.getMessages());
+			}
+			return reference;
+		}
+	}
+
+	private static Corpus load(CheckLogger logger, Task task, String set) throws BioNLPSTException, IOException {
+		switch (set) {
+			case "train": return task.getTrainCorpus(logger);
+			case "dev": return task.getDevCorpus(logger);
+			case "train+dev": return task.getTrainAndDevCorpus(logger);
+			case "test": return task.getTestCorpus(logger);
+			default: {
+				throw new BioNLPSTException("unknown set: " + set);
+			}
+		}
+	}
+}
@@ -10,6 +10,8 @@ import java.util.Enumeration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 
@@ -25,8 +27,11 @@ import org.bionlpst.corpus.source.ContentAndReferenceSource;
 import org.bionlpst.corpus.source.PredictionSource;
 import org.bionlpst.evaluation.AnnotationEvaluation;
 import org.bionlpst.evaluation.BootstrapConfig;
+import org.bionlpst.evaluation.EvaluationHeader;
 import org.bionlpst.evaluation.EvaluationResult;
+import org.bionlpst.evaluation.Pair;
 import org.bionlpst.schema.Schema;
+import org.bionlpst.schema.Schemas;
 import org.bionlpst.util.Location;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.dom.DOMAliases;
@@ -39,15 +44,108 @@ public class Task {
 	private final StringBuilder description = new StringBuilder();
 	private Schema<Corpus> schema;
 	private final List<AnnotationEvaluation> evaluations = new ArrayList<AnnotationEvaluation>();
+	private final List<EvaluationHeader> evaluationHeaders = new ArrayList<EvaluationHeader>();
 	private ContentAndReferenceSource trainSource;
 	private ContentAndReferenceSource devSource;
 	private ContentAndReferenceSource testSource;
 	private boolean testHasReferenceAnnotations;
 	private CorpusPostprocessing corpusPostprocessing = NullPostprocessing.INSTANCE;
+	private final Definition definition;
+	private boolean evaluationsCreated = false;
+	private boolean corpusPostprocessingCreated = false;
 
 	public Task(String name) {
+		this(name, null);
+	}
+
+	/**
+	 * Creates a task whose schema, evaluations and post-processing are created by the specified definition on first use.
+	 * @param name task name.
+	 * @param definition deferred task parts, may be null.
+	 */
+	public Task(String name, Definition definition) {
 		super();
 		this.name = name;
+		this.definition = definition;
+	}
+
+	/**
+	 * Deferred creation of the task parts that load external resources (vocabularies, ontologies, etc.).
+	 * @author rbossy
+	 *
+	 */
+	public static interface Definition {
+		/**
+		 * Creates the task schema.
+		 * @return the task schema, or null if the definition has no schema.
+		 * @throws Exception
+		 */
+		Schema<Corpus> createSchema() throws Exception;
+
+		/**
+		 * Creates the task evaluations.
+		 * @return the task evaluations.
+		 * @throws Exception
+		 */
+		List<AnnotationEvaluation> createEvaluations() throws Exception;
+
+		/**
+		 * Creates the corpus post-processing.
+		 * @return the corpus post-processing, or null if the definition has no post-processing.
+		 * @throws Exception
+		 */
+		CorpusPostprocessing createCorpusPostprocessing() throws Exception;
+	}
+
+	/**
+	 * Creates the schema, evaluations and post-processing of this task now rather than on first use.
+	 * @throws BioNLPSTException if a part could not be created.
+	 */
+	public void createDefinitionParts() throws BioNLPSTException {
+		ensureSchema();
+		ensureEvaluations();
+		ensureCorpusPostprocessing();
+	}
+
+	/*
+	 * Each part is created separately so that listing evaluations does not load schema resources.
+	 */
+	private synchronized void ensureSchema() {
+		if (definition != null && schema == null) {
+			try {
+				schema = definition.createSchema();
+			}
+			catch (Exception e) {
+				throw new BioNLPSTException("could not create schema of " + name + ": " + e.getMessage(), e);
+			}
+		}
+	}
+
+	private synchronized void ensureEvaluations() {
+		if (definition != null && !evaluationsCreated) {
+			try {
+				evaluations.addAll(0, definition.createEvaluations());
+			}
+			catch (Exception e) {
+				throw new BioNLPSTException("could not create evaluations of " + name + ": " + e.getMessage(), e);
+			}
+			evaluationsCreated = true;
+		}
+	}
+
+	private synchronized void ensureCorpusPostprocessing() {
+		if (definition != null && !corpusPostprocessingCreated) {
+			try {
+				CorpusPostprocessing cp = definition.createCorpusPostprocessing();
+				if (cp != null) {
+					corpusPostprocessing = cp;
+				}
+			}
+			catch (Exception e) {
+				throw new BioNLPSTException("could not create post-processing of " + name + ": " + e.getMessage(), e);
+			}
+			corpusPostprocessingCreated = true;
+		}
 	}
 
 	public String getName() {
@@ -59,13 +157,24 @@ public class Task {
 	}
 
 	public Schema<Corpus> getSchema() {
+		ensureSchema();
 		return schema;
 	}
 
 	public List<AnnotationEvaluation> getEvaluations() {
+		ensureEvaluations();
 		return Collections.unmodifiableList(evaluations);
 	}
 
+	/**
+	 * Returns the headers of the evaluations of this task, in the same order as getEvaluations().
+	 * This method does not create the evaluations.
+	 * @return the headers of the evaluations of this task.
+	 */
+	public List<EvaluationHeader> getEvaluationHeaders() {
+		return Collections.unmodifiableList(evaluationHeaders);
+	}
+
 	public ContentAndReferenceSource getTrainSource() {
 		return trainSource;
 	}
@@ -87,11 +196,13 @@ public class Task {
 	}
 	
 	public CorpusPostprocessing getCorpusPostprocessing() {
+		ensureCorpusPostprocessing();
 		return corpusPostprocessing;
 	}
 
 	public void setCorpusPostprocessing(CorpusPostprocessing corpusPostprocessing) {
 		this.corpusPostprocessing = corpusPostprocessing;
+		corpusPostprocessingCreated = true;
 	}
 
 	public void addDescription(CharSequence descr) {
@@ -103,6 +214,16 @@ public class Task {
 	
 	public void addEvaluation(AnnotationEvaluation eval) {
 		evaluations.add(eval);
+		evaluationHeaders.add(new EvaluationHeader(eval));
+	}
+
+	/**
+	 * Adds the header of an evaluation created by the definition of this task.
+	 * Headers of evaluations created by the definition must be added before any call to addEvaluation().
+	 * @param header evaluation header.
+	 */
+	public void addEvaluationHeader(EvaluationHeader header) {
+		evaluationHeaders.add(header);
 	}
 
 	public void setSchema(Schema<Corpus> schema) {
@@ -147,7 +268,51 @@ public class Task {
 	}
 	
 	public void checkSchema(CheckLogger logger, Corpus corpus) {
-		schema.check(logger, corpus);
+		getSchema().check(logger, corpus);
+	}
+
+	/**
+	 * Checks the specified corpus against the schema of this task, documents are checked concurrently.
+	 * @param logger message container where to store warnings and errors.
+	 * @param corpus corpus to check, its references must be resolved.
+	 * @param executor executor, if null then equivalent to checkSchema(logger, corpus).
+	 * @see Schemas#check(Schema, CheckLogger, Corpus, ExecutorService)
+	 */
+	public void checkSchema(CheckLogger logger, Corpus corpus, ExecutorService executor) {
+		Schemas.check(getSchema(), logger, corpus, executor);
+	}
+
+	/**
+	 * Checks the specified corpus against the part of the schema that does not depend on predictions.
+	 * This method is meant to be called once on a reference corpus, before it is frozen and shared.
+	 * @param logger message container where to store warnings and errors.
+	 * @param corpus corpus to check, its references must be resolved.
+	 * @see Schemas#getReferenceSchema(Schema)
+	 */
+	public void checkReferenceSchema(CheckLogger logger, Corpus corpus) {
+		Schemas.getReferenceSchema(getSchema()).check(logger, corpus);
+	}
+
+	/**
+	 * Checks the specified corpus against the part of the schema that may depend on predictions.
+	 * Together with checkReferenceSchema(), this method is equivalent to checkSchema().
+	 * @param logger message container where to store warnings and errors.
+	 * @param corpus corpus to check, its references must be resolved.
+	 * @see Schemas#getPredictionSchema(Schema)
+	 */
+	public void checkPredictionSchema(CheckLogger logger, Corpus corpus) {
+		Schemas.getPredictionSchema(getSchema()).check(logger, corpus);
+	}
+
+	/**
+	 * Checks the specified corpus against the part of the schema that may depend on predictions, documents are checked concurrently.
+	 * @param logger message container where to store warnings and errors.
+	 * @param corpus corpus to check, its references must be resolved.
+	 * @param executor executor, if null then equivalent to checkPredictionSchema(logger, corpus).
+	 * @see Schemas#check(Schema, CheckLogger, Corpus, ExecutorService)
+	 */
+	public void checkPredictionSchema(CheckLogger logger, Corpus corpus, ExecutorService executor) {
+		Schemas.check(Schemas.getPredictionSchema(getSchema()), logger, corpus, executor);
 	}
 	
 	public static void checkParsedPredictions(CheckLogger logger, Corpus corpus, String source) {
@@ -165,21 +330,54 @@ public class Task {
 
 	public Map<String,EvaluationResult<Annotation>> evaluate(@SuppressWarnings("unused") CheckLogger logger, DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap) {
 		Map<String,EvaluationResult<Annotation>> result = new LinkedHashMap<String,EvaluationResult<Annotation>>();
-		for (AnnotationEvaluation eval : evaluations) {
+		for (AnnotationEvaluation eval : getEvaluations()) {
 			EvaluationResult<Annotation> er = eval.getResult(documentCollection, keepPairs, bootstrap);
 			result.put(eval.getName(), er);
 		}
 		return result;
 	}
 
+	/**
+	 * Evaluates the specified documents with all evaluations of this task.
+	 * The pairing of all documents for all evaluations is submitted to the specified executor, scorings are computed sequentially in the order of evaluations so that bootstrap resampling is reproducible.
+	 * @param logger message container.
+	 * @param documentCollection documents.
+	 * @param keepPairs either to keep pairs in the results.
+	 * @param bootstrap bootstrap configuration, may be null.
+	 * @param executor executor for pairing, if null then equivalent to evaluate(logger, documentCollection, keepPairs, bootstrap).
+	 * @return a map from evaluation names to results.
+	 */
+	public Map<String,EvaluationResult<Annotation>> evaluate(CheckLogger logger, DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap, ExecutorService executor) {
+		if (executor == null) {
+			return evaluate(logger, documentCollection, keepPairs, bootstrap);
+		}
+		List<List<Future<List<Pair<Annotation>>>>> pairs = new ArrayList<List<Future<List<Pair<Annotation>>>>>(getEvaluations().size());
+		for (AnnotationEvaluation eval : getEvaluations()) {
+			pairs.add(eval.submitPairs(documentCollection, executor));
+		}
+		Map<String,EvaluationResult<Annotation>> result = new LinkedHashMap<String,EvaluationResult<Annotation>>();
+		List<AnnotationEvaluation> evaluations = getEvaluations();
+		for (int i = 0; i < evaluations.size(); ++i) {
+			AnnotationEvaluation eval = evaluations.get(i);
+			EvaluationResult<Annotation> er = eval.getResult(AnnotationEvaluation.joinPairs(pairs.get(i)), keepPairs, bootstrap);
+			result.put(eval.getName(), er);
+		}
+		return result;
+	}
+
 	public EvaluationResult<Annotation> evaluateMain(@SuppressWarnings("unused") CheckLogger logger, DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap) {
-		AnnotationEvaluation mainEvaluation = evaluations.get(0);
+		AnnotationEvaluation mainEvaluation = getEvaluations().get(0);
 		return mainEvaluation.getMainResult(documentCollection, keepPairs, bootstrap);
 	}
 
+	public EvaluationResult<Annotation> evaluateMain(@SuppressWarnings("unused") CheckLogger logger, DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap, ExecutorService executor) {
+		AnnotationEvaluation mainEvaluation = getEvaluations().get(0);
+		return mainEvaluation.getMainResult(documentCollection, keepPairs, bootstrap, executor);
+	}
+
 	public void loadPredictions(CheckLogger logger, Corpus corpus, PredictionSource predictionParser) throws BioNLPSTException, IOException {
 		predictionParser.fillPredictions(logger, corpus);
-		schema.check(logger, corpus);
+		getSchema().check(logger, corpus);
 	}
 	
 	public Map<String,EvaluationResult<Annotation>> evaluateTrain(CheckLogger logger, PredictionSource predictionParser, boolean keepPairs, BootstrapConfig bootstrap) throws BioNLPSTException, IOException {
@@ -231,7 +429,7 @@ public class Task {
 	public EvaluationResult<Annotation> evaluateMainTest(CheckLogger logger, PredictionSource predictionParser, BootstrapConfig bootstrap) throws BioNLPSTException, IOException {
 		if (!testHasReferenceAnnotations) {
 			logger.serious(new Location(predictionParser.getName(), 0), "evaluation for the test set is not available for " + name);
-			return new EvaluationResult<Annotation>(evaluations.get(0));
+			return new EvaluationResult<Annotation>(getEvaluations().get(0));
 		}
 		Corpus corpus = getTestCorpus(logger);
 		loadPredictions(logger, corpus, predictionParser);
@@ -1,16 +1,21 @@
 package org.bionlpst.app.cli;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.app.Task;
@@ -25,14 +30,16 @@ import org.bionlpst.corpus.source.bionlpst.InputStreamCollection;
 import org.bionlpst.corpus.source.bionlpst.ZipFileInputStreamCollection;
 import org.bionlpst.corpus.source.pubannotation.FileInputStreamFactory;
 import org.bionlpst.corpus.source.pubannotation.PubAnnotationSource;
+import org.bionlpst.corpus.source.snapshot.SnapshotCachedSource;
 import org.bionlpst.corpus.writer.BioNLPSTWriter;
 import org.bionlpst.corpus.writer.PubAnnotationWriter;
-import org.bionlpst.evaluation.AnnotationEvaluation;
 import org.bionlpst.evaluation.BootstrapConfig;
+import org.bionlpst.evaluation.EvaluationHeader;
 import org.bionlpst.evaluation.EvaluationResult;
 import org.bionlpst.evaluation.Measure;
-import org.bionlpst.evaluation.Scoring;
+import org.bionlpst.evaluation.ScoringHeader;
 import org.bionlpst.util.Location;
+import org.bionlpst.util.Named;
 import org.bionlpst.util.message.CheckLogger;
 import org.bionlpst.util.message.CheckMessage;
 import org.bionlpst.util.message.CheckMessageLevel;
@@ -46,6 +53,7 @@ public class BioNLPSTCLI {
 	private String set = null;
 	private ContentAndReferenceSource referenceSource = null;
 	private PredictionSource predictionSource = null;
+	private final List<PredictionSource> batchPredictionSources = new ArrayList<PredictionSource>();
 	private boolean pubAnnotationPredictions = false;
 	private boolean detailedEvaluation = false;
 	private boolean alternateScores = false;
@@ -56,7 +64,12 @@ public class BioNLPSTCLI {
 	private double confidenceIntervalP = 0.95;
 	private long bootstrapRandomSeed = System.currentTimeMillis();
 	private BootstrapConfig bootstrapConfig = null;
+	private Integer parallelism = null;
+	private int maxErrors = 0;
+	private int maxMessagesPerCategory = 0;
+	private ExecutorService executor = null;
 	private File outputDir = null;
+	private File snapshotCacheDir = null;
 	private String sourcedb = null;
 
 	private static enum Action {
@@ -114,6 +127,9 @@ public class BioNLPSTCLI {
 		if (task == null) {
 			exit(1);
 		}
+		if (snapshotCacheDir != null) {
+			setSnapshotCache();
+		}
 		logger.information(COMMAND_LINE_LOCATION, "loading corpus and reference data");
 		Corpus corpus = loadReference(true);
 		flushLogger();
@@ -156,6 +172,50 @@ public class BioNLPSTCLI {
 		if (task == null) {
 			exit(1);
 		}
+		if (snapshotCacheDir != null) {
+			setSnapshotCache();
+		}
+		if (parallelism != null && parallelism > 1) {
+			logger.information(COMMAND_LINE_LOCATION, String.format("parallel loading and evaluation: %d threads", parallelism));
+			executor = new ForkJoinPool(parallelism);
+			setSourceExecutors();
+		}
+		try {
+			checkAndEvaluate(evaluate);
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+	private void setSnapshotCache() {
+		task.setTrainSource(SnapshotCachedSource.wrap(task.getTrainSource(), snapshotCacheDir));
+		task.setDevSource(SnapshotCachedSource.wrap(task.getDevSource(), snapshotCacheDir));
+		if (task.hasTest()) {
+			task.setTestSource(SnapshotCachedSource.wrap(task.getTestSource(), snapshotCacheDir));
+		}
+	}
+
+	private void setSourceExecutors() {
+		List<Object> sources = new ArrayList<Object>(batchPredictionSources);
+		sources.addAll(Arrays.asList(referenceSource, predictionSource, task.getTrainSource(), task.getDevSource(), task.getTestSource()));
+		for (Object source : sources) {
+			if (source instanceof SnapshotCachedSource) {
+				source = ((SnapshotCachedSource) source).getSource();
+			}
+			if (source instanceof BioNLPSTSource) {
+				((BioNLPSTSource) source).setExecutor(executor);
+			}
+		}
+	}
+
+	private void checkAndEvaluate(boolean evaluate) throws Exception {
+		if (!batchPredictionSources.isEmpty()) {
+			checkAndEvaluateBatch(evaluate);
+			return;
+		}
 		logger.information(COMMAND_LINE_LOCATION, "loading corpus and reference data");
 		Corpus corpus = loadReference(evaluate);
 		flushLogger();
@@ -165,12 +225,12 @@ public class BioNLPSTCLI {
 		flushLogger();
 		
 		logger.information(COMMAND_LINE_LOCATION, "resolving references");
-		corpus.resolveReferences(logger);
+		corpus.resolveReferences(logger, executor);
 		flushLogger();
 
 		logger.information(COMMAND_LINE_LOCATION, "checking data");
 		Task.checkParsedPredictions(logger, corpus, predictionSource.getName());
-		task.checkSchema(logger, corpus);
+		task.checkSchema(logger, corpus, executor);
 		CheckMessageLevel highestLevel = logger.getHighestLevel();
 		flushLogger();
 		if (evaluate) {
@@ -185,7 +245,7 @@ public class BioNLPSTCLI {
 					exit(1);
 				}
 			}
-			doEvaluate(corpus);
+			doEvaluate(corpus, referenceSource);
 		}
 		else {
 			if (highestLevel != CheckMessageLevel.INFORMATION) {
@@ -194,39 +254,108 @@ public class BioNLPSTCLI {
 		}
 	}
 
-	private void doEvaluate(Corpus corpus) {
+	private void checkAndEvaluateBatch(boolean evaluate) throws Exception {
+		logger.information(COMMAND_LINE_LOCATION, "loading corpus and reference data");
+		Corpus reference = loadReference(evaluate);
+		flushLogger();
+
+		logger.information(COMMAND_LINE_LOCATION, "checking reference data");
+		// resolution messages are issued again when each copy is resolved
+		reference.resolveReferences(new CheckLogger());
+		task.checkReferenceSchema(logger, reference);
+		CheckMessageLevel referenceLevel = logger.getHighestLevel();
+		reference.freeze();
+		flushLogger();
+
+		boolean success = true;
+		// sources are dropped as soon as they are scored so that each set can be released
+		Iterator<PredictionSource> it = batchPredictionSources.iterator();
+		while (it.hasNext()) {
+			PredictionSource source = it.next();
+			it.remove();
+			try {
+				success = checkAndEvaluate(evaluate, reference, referenceLevel, source) && success;
+			}
+			finally {
+				if (source instanceof Closeable) {
+					((Closeable) source).close();
+				}
+			}
+		}
+		if (!success) {
+			exit(1);
+		}
+	}
+
+	private boolean checkAndEvaluate(boolean evaluate, Corpus reference, CheckMessageLevel referenceLevel, PredictionSource source) throws Exception {
+		logger.information(COMMAND_LINE_LOCATION, "loading prediction data from " + source.getName());
+		Corpus corpus = new Corpus(reference);
+		source.fillPredictions(logger, corpus);
+		flushLogger();
+
+		logger.information(COMMAND_LINE_LOCATION, "resolving references");
+		corpus.resolveReferences(logger, executor);
+		flushLogger();
+
+		logger.information(COMMAND_LINE_LOCATION, "checking data");
+		Task.checkParsedPredictions(logger, corpus, source.getName());
+		task.checkPredictionSchema(logger, corpus, executor);
+		CheckMessageLevel highestLevel = logger.getHighestLevel();
+		if (referenceLevel.severity > highestLevel.severity) {
+			highestLevel = referenceLevel;
+		}
+		flushLogger();
+		if (highestLevel != CheckMessageLevel.INFORMATION) {
+			if (!evaluate) {
+				return false;
+			}
+			if (!forceEvaluation) {
+				logger.serious(COMMAND_LINE_LOCATION, "I refuse to evaluate this garbage: " + source.getName());
+				flushLogger();
+				return false;
+			}
+			logger.serious(COMMAND_LINE_LOCATION, "I will evaluate this garbage because you made me to");
+			flushLogger();
+		}
+		if (evaluate) {
+			doEvaluate(corpus, source);
+		}
+		return true;
+	}
+
+	private void doEvaluate(Corpus corpus, Named target) {
 		logger.information(COMMAND_LINE_LOCATION, "postprocessing");
 		task.getCorpusPostprocessing().postprocess(corpus);
 		logger.information(COMMAND_LINE_LOCATION, "evaluation");
 		if (bootstrapResamples != null) {
 			logger.information(COMMAND_LINE_LOCATION, String.format("bootstrap configuration: resamples = %d, confidence = %.2f, seed = %d", bootstrapResamples, confidenceIntervalP, bootstrapRandomSeed));
-			bootstrapConfig = new BootstrapConfig(new Random(bootstrapRandomSeed), bootstrapResamples);
+			bootstrapConfig = new BootstrapConfig(new Random(bootstrapRandomSeed), bootstrapResamples, executor);
 		}
 		flushLogger();
 		if (detailedEvaluation) {
 			for (Document doc : corpus.getDocuments()) {
-				doEvaluateDocument(doc);
+				doEvaluateDocument(doc, target);
 			}
 		}
-		doEvaluateCorpus(corpus);
+		doEvaluateCorpus(corpus, target);
 	}
 
-	private void doEvaluateCorpus(Corpus corpus) {
-		evalWriter.displayCorpusHeader(referenceSource, set);
+	private void doEvaluateCorpus(Corpus corpus, Named target) {
+		evalWriter.displayCorpusHeader(target, set);
 		if (alternateScores) {
-			Map<String,EvaluationResult<Annotation>> evalMap = task.evaluate(logger, corpus, false, bootstrapConfig);
+			Map<String,EvaluationResult<Annotation>> evalMap = task.evaluate(logger, corpus, false, bootstrapConfig, executor);
 			for (EvaluationResult<Annotation> eval : evalMap.values()) {
 				evalWriter.displayEvaluationResult(eval, false, (bootstrapConfig == null ? -1.0 : confidenceIntervalP));
 			}
 		}
 		else {
-			EvaluationResult<Annotation> eval = task.evaluateMain(logger, corpus, false, bootstrapConfig);
+			EvaluationResult<Annotation> eval = task.evaluateMain(logger, corpus, false, bootstrapConfig, executor);
 			evalWriter.displayEvaluationResult(eval, false, (bootstrapConfig == null ? -1.0 : confidenceIntervalP));
 		}
 	}
 
-	private void doEvaluateDocument(Document doc) {
-		evalWriter.displayDocumentHeader(doc);
+	private void doEvaluateDocument(Document doc, Named target) {
+		evalWriter.displayDocumentHeader(target, set, doc);
 		if (alternateScores) {
 			Map<String,EvaluationResult<Annotation>> evalMap = task.evaluate(logger, doc, true, bootstrapConfig);
 			for (EvaluationResult<Annotation> eval : evalMap.values()) {
@@ -249,9 +378,9 @@ public class BioNLPSTCLI {
 	
 	private static void displayTask(Task task) {
 		System.out.println(task.getName());
-		for (AnnotationEvaluation eval : task.getEvaluations()) {
+		for (EvaluationHeader eval : task.getEvaluationHeaders()) {
 			System.out.println("  " + eval.getName());
-			for (Scoring<Annotation> scoring : eval.getScorings()) {
+			for (ScoringHeader scoring : eval.getScorings()) {
 				System.out.print("    " + scoring.getName() + ":");
 				for (Measure measure : scoring.getMeasures()) {
 					System.out.print(' ');
@@ -292,6 +421,9 @@ public class BioNLPSTCLI {
 		if (result == null) {
 			logger.serious(COMMAND_LINE_LOCATION, "unknown task: " + taskName);
 		}
+		else {
+			result.createDefinitionParts();
+		}
 		return result;
 	}
 	
@@ -314,6 +446,8 @@ public class BioNLPSTCLI {
 		if (!finishArgs()) {
 			exit(1);
 		}
+		logger.setMaxErrors(maxErrors);
+		logger.setMaxMessagesPerCategory(maxMessagesPerCategory);
 	}
 	
 	private boolean parseNext(Iterator<String> argsIt) {
@@ -371,6 +505,9 @@ public class BioNLPSTCLI {
 					if (predictionSource != null) {
 						logger.suspicious(COMMAND_LINE_LOCATION, "option -pubannotation occurs after -prediction");
 					}
+					if (!batchPredictionSources.isEmpty()) {
+						logger.suspicious(COMMAND_LINE_LOCATION, "option -pubannotation occurs after -batch");
+					}
 					pubAnnotationPredictions = true;
 					break;
 				}
@@ -380,12 +517,14 @@ public class BioNLPSTCLI {
 					}
 					String arg = requireArgument(argsIt, opt, null);
 					if (arg != null) {
-						if (pubAnnotationPredictions) {
-							predictionSource = new PubAnnotationSource(new FileInputStreamFactory(new File(arg)));
-						}
-						else {
-							predictionSource = new BioNLPSTSource(getInputStreamCollection(arg));
-						}
+						predictionSource = getPredictionSource(arg);
+					}
+					break;
+				}
+				case "-batch": {
+					String arg = requireArgument(argsIt, opt, null);
+					if (arg != null) {
+						addBatchPredictionSources(arg);
 					}
 					break;
 				}
@@ -460,6 +599,39 @@ public class BioNLPSTCLI {
 					}
 					break;
 				}
+				case "-parallel": {
+					if (parallelism != null) {
+						logger.suspicious(COMMAND_LINE_LOCATION, "duplicate option: " + opt);
+					}
+					String arg = requireArgument(argsIt, opt, null);
+					if (arg != null) {
+						try {
+							parallelism = Integer.parseInt(arg);
+							if (parallelism <= 0) {
+								logger.serious(COMMAND_LINE_LOCATION, opt + " expects a positive non-zero integer");
+							}
+						}
+						catch (NumberFormatException e) {
+							logger.serious(COMMAND_LINE_LOCATION, opt + " expects a positive non-zero integer");
+						}
+					}
+					break;
+				}
+				case "-max-errors": {
+					maxErrors = requirePositiveInteger(argsIt, opt);
+					break;
+				}
+				case "-max-messages-per-category": {
+					maxMessagesPerCategory = requirePositiveInteger(argsIt, opt);
+					break;
+				}
+				case "-snapshot-cache": {
+					String arg = requireArgument(argsIt, opt, null);
+					if (arg != null) {
+						snapshotCacheDir = new File(arg);
+					}
+					break;
+				}
 				case "-bootstrap-seed": {
 					String arg = requireArgument(argsIt, opt, null);
 					if (arg != null) {
@@ -502,6 +674,24 @@ public class BioNLPSTCLI {
 		return false;
 	}
 
+	private int requirePositiveInteger(Iterator<String> argsIt, String opt) {
+		String arg = requireArgument(argsIt, opt, null);
+		if (arg == null) {
+			return 0;
+		}
+		try {
+			int result = Integer.parseInt(arg);
+			if (result <= 0) {
+				logger.serious(COMMAND_LINE_LOCATION, opt + " expects a positive non-zero integer");
+			}
+			return result;
+		}
+		catch (NumberFormatException e) {
+			logger.serious(COMMAND_LINE_LOCATION, opt + " expects a positive non-zero integer");
+			return 0;
+		}
+	}
+
 	private String requireArgument(Iterator<String> argsIt, String opt, String defaultValue) {
 		if (argsIt.hasNext()) {
 			return argsIt.next();
@@ -518,6 +708,46 @@ public class BioNLPSTCLI {
 		return new ZipFileInputStreamCollection(f);
 	}
 
+	private PredictionSource getPredictionSource(String path) {
+		if (pubAnnotationPredictions) {
+			return new PubAnnotationSource(new FileInputStreamFactory(new File(path)));
+		}
+		return new BioNLPSTSource(getInputStreamCollection(path));
+	}
+
+	private void addBatchPredictionSources(String arg) {
+		File f = new File(arg);
+		if (f.isDirectory()) {
+			File[] files = f.listFiles();
+			if (files == null) {
+				logger.serious(COMMAND_LINE_LOCATION, "could not list prediction directory " + arg);
+				return;
+			}
+			Arrays.sort(files);
+			for (File file : files) {
+				if (!file.isHidden()) {
+					batchPredictionSources.add(getPredictionSource(file.getPath()));
+				}
+			}
+			return;
+		}
+		try (BufferedReader r = new BufferedReader(new FileReader(f))) {
+			while (true) {
+				String line = r.readLine();
+				if (line == null) {
+					break;
+				}
+				line = line.trim();
+				if (!line.isEmpty()) {
+					batchPredictionSources.add(getPredictionSource(line));
+				}
+			}
+		}
+		catch (IOException e) {
+			logger.serious(COMMAND_LINE_LOCATION, "could not read prediction list " + arg + ": " + e.getMessage());
+		}
+	}
+
 	private boolean finishArgs() {
 		boolean result = true;
 		if (action == Action.LIST_TASKS || action == Action.HELP) {
@@ -546,10 +776,14 @@ public class BioNLPSTCLI {
 		if (action == Action.WRITE) {
 			return result;
 		}
-		if (predictionSource == null) {
+		if (predictionSource == null && batchPredictionSources.isEmpty()) {
 			logger.serious(COMMAND_LINE_LOCATION, "option -prediction is mandatory");
 			result = false;
 		}
+		if (predictionSource != null && !batchPredictionSources.isEmpty()) {
+			logger.serious(COMMAND_LINE_LOCATION, "conflicting options: -prediction -batch");
+			result = false;
+		}
 		return result;
 	}
 }
@@ -20,7 +20,7 @@ public enum EvaluationPairingWriter implements EvaluationResultWriter {
 			Similarity<Annotation> sim = eval.getEvaluation().getMatchingSimilarity();
 			for (Pair<Annotation> pair : eval.getPairs()) {
 				System.out.print(getDocumentId(pair));
-				System.out.format("\t%s\t%.4f", getPairType(sim, pair), sim.compute(pair.getReference(), pair.getPrediction()));
+				System.out.format("\t%s\t%.4f", getPairType(sim, pair), pair.compute(sim));
 				displayAnnotation(null, pair.getReference(), AnnotationSetSelector.REFERENCE, 20);
 				displayAnnotation(pair.getReference(), pair.getPrediction(), AnnotationSetSelector.PREDICTION, 20);
 				System.out.println();
@@ -42,7 +42,7 @@ public enum EvaluationPairingWriter implements EvaluationResultWriter {
 
 	private static String getPairType(Similarity<Annotation> sim, Pair<Annotation> pair) {
 		if (pair.hasBoth()) {
-			double s = sim.compute(pair.getReference(), pair.getPrediction());
+			double s = pair.compute(sim);
 			if (s == 1.0) {
 				return "TP";
 			}
@@ -103,6 +103,6 @@ public enum EvaluationPairingWriter implements EvaluationResultWriter {
 	}
 
 	@Override
-	public void displayDocumentHeader(Document doc) {
+	public void displayDocumentHeader(Named named, String defaultName, Document doc) {
 	}
 }
@@ -8,5 +8,5 @@ import org.bionlpst.util.Named;
 public interface EvaluationResultWriter {
 	void displayEvaluationResult(EvaluationResult<Annotation> eval, boolean detailedEvaluation, double confidence);
 	void displayCorpusHeader(Named named, String defaultName);
-	void displayDocumentHeader(Document doc);
+	void displayDocumentHeader(Named named, String defaultName, Document doc);
 }
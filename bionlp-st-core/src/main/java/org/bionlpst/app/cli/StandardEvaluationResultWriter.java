@@ -33,7 +33,7 @@ public enum StandardEvaluationResultWriter implements EvaluationResultWriter {
 	}
 
 	@Override
-	public void displayDocumentHeader(Document doc) {
+	public void displayDocumentHeader(Named named, String defaultName, Document doc) {
 		System.out.println("Evaluation for document " + doc.getId());
 	}
 }
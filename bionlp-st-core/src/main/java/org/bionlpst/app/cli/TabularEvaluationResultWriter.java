@@ -8,8 +8,14 @@ import org.bionlpst.evaluation.MeasureResult.ConfidenceInterval;
 import org.bionlpst.evaluation.ScoringResult;
 import org.bionlpst.util.Named;
 
+/**
+ * Writes one line per measure: corpus or prediction source name, document identifier (empty for corpus results), evaluation, scoring, measure, value, and optionally the confidence interval bounds.
+ * @author rbossy
+ *
+ */
 public class TabularEvaluationResultWriter implements EvaluationResultWriter {
 	private String target;
+	private String document = "";
 
 	@Override
 	public void displayEvaluationResult(EvaluationResult<Annotation> eval, boolean detailedEvaluation, double confidence) {
@@ -20,7 +26,7 @@ public class TabularEvaluationResultWriter implements EvaluationResultWriter {
 			String scoringName = scoring.getScoring().getName();
 			for (MeasureResult measure : scoring.getMeasureResults()) {
 				String measureName = measure.getMeasure().getName();
-				System.out.printf("%s\t%s\t%s\t%s\t%s", target, evalName, scoringName, measureName, measure.getResult());
+				System.out.printf("%s\t%s\t%s\t%s\t%s\t%s", target, document, evalName, scoringName, measureName, measure.getResult());
 				if (confidence > 0.0) {
 					ConfidenceInterval inter = measure.getConfidenceInterval(confidence);
 					System.out.printf("\t%s\t%s", inter.lo, inter.hi);
@@ -32,17 +38,21 @@ public class TabularEvaluationResultWriter implements EvaluationResultWriter {
 
 	@Override
 	public void displayCorpusHeader(Named named, String defaultName) {
-		if (named == null) {
-			target = defaultName;
-		}
-		else {
-			target = named.getName();
-		}
+		target = getTarget(named, defaultName);
+		document = "";
 	}
 
 	@Override
-	public void displayDocumentHeader(Document doc) {
-		target = doc.getId();
+	public void displayDocumentHeader(Named named, String defaultName, Document doc) {
+		target = getTarget(named, defaultName);
+		document = doc.getId();
+	}
+
+	private static String getTarget(Named named, String defaultName) {
+		if (named == null) {
+			return defaultName;
+		}
+		return named.getName();
 	}
 
 }
@@ -1,5 +1,8 @@
 package org.bionlpst.app.xml;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.app.CorpusPostprocessing;
 import org.bionlpst.app.Task;
@@ -7,6 +10,7 @@ import org.bionlpst.corpus.Corpus;
 import org.bionlpst.corpus.source.ContentAndReferenceSource;
 import org.bionlpst.evaluation.AnnotationEvaluation;
 import org.bionlpst.evaluation.xml.EvaluationConverter;
+import org.bionlpst.evaluation.xml.EvaluationHeaderConverter;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.schema.xml.CorpusSchemaConverter;
 import org.bionlpst.util.Util;
@@ -32,10 +36,16 @@ public class TaskConverter implements DOMElementConverter<Task> {
 		return corpusAndReferenceParserConverter;
 	}
 
+	/**
+	 * Converts the specified task element. The task name, description and sources are converted immediately.
+	 * The schema, evaluations and post-processing are converted on first use, so that their resources are only loaded for tasks that are actually used.
+	 * Evaluation headers are converted immediately.
+	 */
 	@Override
 	public Task convert(Element element) throws Exception {
 		String name = DOMUtil.getMandatoryAttribute(element, "name");
-		Task result = new Task(name);
+		ElementDefinition definition = new ElementDefinition(element);
+		Task result = new Task(name, definition);
 		for (Element child : DOMUtil.getChildrenElements(element, false)) {
 			String tag = child.getTagName();
 			switch (tag) {
@@ -45,23 +55,19 @@ public class TaskConverter implements DOMElementConverter<Task> {
 					break;
 				}
 				case "post-processing": {
-					CorpusPostprocessing corpusPostprocessing = DOMUtil.getContentsByClassName(child, CorpusPostprocessing.class);
-					result.setCorpusPostprocessing(corpusPostprocessing);
+					definition.postProcessingElement = child;
 					break;
 				}
 				case "schema": {
-					Schema<Corpus> schema = result.getSchema();
-					if (schema != null) {
+					if (definition.schemaElement != null) {
 						throw new BioNLPSTException("duplicate schema");
 					}
-					schema = new CorpusSchemaConverter(classLoader).convert(child);
-					schema = schema.reduce();
-					result.setSchema(schema);
+					definition.schemaElement = child;
 					break;
 				}
 				case "evaluation": {
-					AnnotationEvaluation eval = new EvaluationConverter(classLoader).convert(child);
-					result.addEvaluation(eval);
+					definition.evaluationElements.add(child);
+					result.addEvaluationHeader(EvaluationHeaderConverter.INSTANCE.convert(child));
 					break;
 				}
 				case "train": {
@@ -98,7 +104,7 @@ public class TaskConverter implements DOMElementConverter<Task> {
 				}
 			}
 		}
-		if (result.getSchema() == null) {
+		if (definition.schemaElement == null) {
 			throw new BioNLPSTException("missing schema");
 		}
 		if (result.getTrainSource() == null) {
@@ -107,9 +113,54 @@ public class TaskConverter implements DOMElementConverter<Task> {
 		if (result.getDevSource() == null) {
 			throw new BioNLPSTException("missing dev corpus for " + name);
 		}
-		if (result.getEvaluations().isEmpty()) {
+		if (definition.evaluationElements.isEmpty()) {
 			throw new BioNLPSTException("missing evaluations for " + name);
 		}
 		return result;
 	}
+
+	/**
+	 * Task parts converted from the children of a task element on first use.
+	 * Conversions are synchronized on the DOM document since DOM implementations are not safe for concurrent reads.
+	 */
+	private class ElementDefinition implements Task.Definition {
+		private final Element element;
+		private Element schemaElement = null;
+		private final List<Element> evaluationElements = new ArrayList<Element>();
+		private Element postProcessingElement = null;
+
+		private ElementDefinition(Element element) {
+			super();
+			this.element = element;
+		}
+
+		@Override
+		public Schema<Corpus> createSchema() throws Exception {
+			synchronized (element.getOwnerDocument()) {
+				Schema<Corpus> result = new CorpusSchemaConverter(classLoader).convert(schemaElement);
+				return result.reduce();
+			}
+		}
+
+		@Override
+		public List<AnnotationEvaluation> createEvaluations() throws Exception {
+			synchronized (element.getOwnerDocument()) {
+				List<AnnotationEvaluation> result = new ArrayList<AnnotationEvaluation>(evaluationElements.size());
+				for (Element child : evaluationElements) {
+					result.add(new EvaluationConverter(classLoader).convert(child));
+				}
+				return result;
+			}
+		}
+
+		@Override
+		public CorpusPostprocessing createCorpusPostprocessing() throws Exception {
+			if (postProcessingElement == null) {
+				return null;
+			}
+			synchronized (element.getOwnerDocument()) {
+				return DOMUtil.getContentsByClassName(postProcessingElement, CorpusPostprocessing.class);
+			}
+		}
+	}
 }
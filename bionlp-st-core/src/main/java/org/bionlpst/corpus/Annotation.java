@@ -3,24 +3,28 @@ package org.bionlpst.corpus;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.util.Location;
+import org.bionlpst.util.SymbolTable;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.message.CheckLogger;
 
 /**
  * A BioNLP-ST annotation.
+ * Annotation types are canonicalized in the shared symbol table. Back references are stored in a small list allocated on the first reference, the list is replaced by a linked set when an annotation is referenced many times.
  * @author rbossy
  *
  */
 public abstract class Annotation {
+	private static final int MAX_BACK_REFERENCE_LIST_SIZE = 8;
+
 	private final AnnotationSet annotationSet;
 	private final Location location;
 	private String id;
 	private final String type;
-	private final Collection<Annotation> backReferences = new HashSet<Annotation>();
+	private Collection<Annotation> backReferences = null;
 	private Equivalence equivalence = null;
 
 	/**
@@ -37,7 +41,7 @@ public abstract class Annotation {
 		this.annotationSet = Util.notnull(annotationSet);
 		this.location = Util.notnull(location);
 		this.id = Util.notnull(id);
-		this.type = Util.notnull(type);
+		this.type = SymbolTable.SHARED.get(type);
 		annotationSet.addAnnotation(logger, this);
 	}
 
@@ -113,12 +117,15 @@ public abstract class Annotation {
 	 * @return all annotations that reference this annotation. If there are no annotation that references this annotation, then the returned collection is empty. The returned collection is an unmodifiable view.
 	 */
 	public Collection<Annotation> getBackReferences() {
+		if (backReferences == null) {
+			return Collections.emptyList();
+		}
 		return Collections.unmodifiableCollection(backReferences);
 	}
 	
 	public Collection<Normalization> getNormalizationBackReferences(String type) {
 		Collection<Normalization> result = new ArrayList<Normalization>();
-		for (Annotation a : backReferences) {
+		for (Annotation a : getBackReferences()) {
 			Normalization norm = a.asNormalization();
 			if (norm == null) {
 				continue;
@@ -135,7 +142,15 @@ public abstract class Annotation {
 	}
 	
 	private void addBackReference(Annotation ann) {
-		this.backReferences.add(ann);
+		if (backReferences == null) {
+			backReferences = new ArrayList<Annotation>(1);
+		}
+		else if (backReferences.size() == MAX_BACK_REFERENCE_LIST_SIZE && backReferences instanceof ArrayList) {
+			backReferences = new LinkedHashSet<Annotation>(backReferences);
+		}
+		if (!backReferences.contains(ann)) {
+			backReferences.add(ann);
+		}
 	}
 
 	/**
@@ -0,0 +1,53 @@
+package org.bionlpst.corpus;
+
+import org.bionlpst.util.message.CheckLogger;
+
+/**
+ * Copies annotations into another annotation set. References are copied as identifiers, the copies must be resolved.
+ * @author rbossy
+ *
+ */
+class AnnotationCopier implements AnnotationVisitor<Annotation,AnnotationSet> {
+	private final CheckLogger logger;
+
+	AnnotationCopier(CheckLogger logger) {
+		super();
+		this.logger = logger;
+	}
+
+	void copyAnnotations(AnnotationSet from, AnnotationSet to) {
+		for (Annotation ann : from.getAnnotations()) {
+			ann.accept(this, to);
+		}
+		if (from.isParsed()) {
+			to.setParsed();
+		}
+	}
+
+	@Override
+	public Annotation visit(TextBound textBound, AnnotationSet param) {
+		return new TextBound(logger, param, textBound.getLocation(), textBound.getId(), textBound.getType(), textBound.getFragments());
+	}
+
+	@Override
+	public Annotation visit(Relation relation, AnnotationSet param) {
+		return new Relation(logger, param, relation.getLocation(), relation.getId(), relation.getType(), relation.getArgumentReferences());
+	}
+
+	@Override
+	public Annotation visit(Normalization normalization, AnnotationSet param) {
+		Normalization result = new Normalization(logger, param, normalization.getLocation(), normalization.getId(), normalization.getType(), normalization.getAnnotationReference(), normalization.getReferent());
+		result.setLabel(normalization.getLabel());
+		return result;
+	}
+
+	@Override
+	public Annotation visit(Modifier modifier, AnnotationSet param) {
+		return new Modifier(logger, param, modifier.getLocation(), modifier.getId(), modifier.getType(), modifier.getAnnotationReference());
+	}
+
+	@Override
+	public Annotation visit(DummyAnnotation dummy, AnnotationSet param) {
+		return new DummyAnnotation(logger, param, dummy.getLocation(), dummy.getId(), dummy.getType());
+	}
+}
@@ -10,6 +10,8 @@ import java.util.UUID;
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.util.Filter;
 import org.bionlpst.util.Util;
+import org.bionlpst.util.fragment.FragmentIndex;
+import org.bionlpst.util.fragment.ImmutableFragment;
 import org.bionlpst.util.message.CheckLogger;
 
 /**
@@ -23,6 +25,7 @@ public class AnnotationSet {
 	private final AnnotationSet parent;
 	private final Map<String,Annotation> annotations = new LinkedHashMap<String,Annotation>();
 	private boolean parsed = false;
+	private FragmentIndex<TextBound> textBoundIndex = null;
 	
 	/**
 	 * Creates a new annotation set.
@@ -140,11 +143,33 @@ public class AnnotationSet {
 		return parent.getAnnotation(id);
 	}
 
+	/**
+	 * Returns an interval index of the fragments of all text-bound annotations in this annotation set.
+	 * The index is built at the first call and discarded whenever an annotation is added or removed. Text-bound annotations in the parent annotation set are not indexed.
+	 * @return an interval index of the fragments of all text-bound annotations in this annotation set.
+	 */
+	public synchronized FragmentIndex<TextBound> getTextBoundIndex() {
+		if (textBoundIndex == null) {
+			FragmentIndex<TextBound> result = new FragmentIndex<TextBound>();
+			for (Annotation ann : annotations.values()) {
+				TextBound tb = ann.asTextBound();
+				if (tb != null) {
+					for (ImmutableFragment frag : tb.getFragments()) {
+						result.add(frag, tb);
+					}
+				}
+			}
+			textBoundIndex = result;
+		}
+		return textBoundIndex;
+	}
+
 	public boolean isParsed() {
 		return parsed;
 	}
 
 	public void setParsed() {
+		document.getCorpus().checkNotFrozen();
 		parsed = true;
 	}
 	/**
@@ -153,6 +178,7 @@ public class AnnotationSet {
 	 * @throws BioNLPSTException if either this annotation set or the parent annotation set already contain an annotation with the same identifier as the specified annotation.
 	 */
 	void addAnnotation(CheckLogger logger, Annotation ann) throws BioNLPSTException {
+		document.getCorpus().checkNotFrozen();
 		String id = ann.getId();
 		if (hasAnnotation(id)) {
 			Annotation prev = getAnnotation(id);
@@ -161,6 +187,7 @@ public class AnnotationSet {
 			ann.setId(id);
 		}
 		annotations.put(id, ann);
+		textBoundIndex = null;
 	}
 
 	/**
@@ -168,6 +195,7 @@ public class AnnotationSet {
 	 * @param logger message container where to store warnings and errors.
 	 */
 	public void resolveReferences(CheckLogger logger) {
+		document.getCorpus().checkNotFrozen();
 		Collection<Annotation> annotations = new ArrayList<Annotation>(this.annotations.values());
 		for (Annotation ann : annotations) {
 			ann.resolveReferences(logger);
@@ -175,6 +203,8 @@ public class AnnotationSet {
 	}
 	
 	public void removeAnnotation(String id) {
+		document.getCorpus().checkNotFrozen();
 		annotations.remove(id);
+		textBoundIndex = null;
 	}
 }
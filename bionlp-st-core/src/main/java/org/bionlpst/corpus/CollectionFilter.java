@@ -3,11 +3,27 @@ package org.bionlpst.corpus;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedHashSet;
 
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
+import org.bionlpst.util.Vocabulary;
 
 public class CollectionFilter implements Filter<String> {
+	/**
+	 * Reads accepted values, one per line, into a vocabulary.
+	 */
+	public static final ResourceRegistry.Loader<Collection<String>> ACCEPTED_VALUES = new ResourceRegistry.Loader<Collection<String>>() {
+		@Override
+		public String getKey() {
+			return "accepted-values";
+		}
+
+		@Override
+		public Collection<String> load(BufferedReader r) throws IOException {
+			return Vocabulary.read(r, true);
+		}
+	};
+
 	private final Collection<String> acceptedValues;
 
 	public CollectionFilter(Collection<String> acceptedValues) {
@@ -16,22 +32,7 @@ public class CollectionFilter implements Filter<String> {
 	}
 	
 	public CollectionFilter(BufferedReader r) throws IOException {
-		this(buildAcceptedValues(r));
-	}
-
-	private static Collection<String> buildAcceptedValues(BufferedReader r) throws IOException {
-		Collection<String> result = new LinkedHashSet<String>();
-		while (true) {
-			String line = r.readLine();
-			if (line == null) {
-				break;
-			}
-			line = line.trim();
-			if (!line.isEmpty()) {
-				result.add(line);
-			}
-		}
-		return result;
+		this(Vocabulary.read(r, true));
 	}
 
 	@Override
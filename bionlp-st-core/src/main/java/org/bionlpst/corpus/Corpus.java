@@ -1,12 +1,18 @@
 package org.bionlpst.corpus;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.bionlpst.BioNLPSTException;
+import org.bionlpst.util.Util;
 import org.bionlpst.util.message.CheckLogger;
+import org.bionlpst.util.message.ConcurrentCheckLogger;
 
 /**
  * The Corpus object represents a collection of documents.
@@ -15,6 +21,7 @@ import org.bionlpst.util.message.CheckLogger;
  */
 public class Corpus implements DocumentCollection {
 	private final Map<String,Document> documents = new TreeMap<String,Document>();
+	private volatile boolean frozen = false;
 	
 	/**
 	 * Create a corpus.
@@ -23,6 +30,20 @@ public class Corpus implements DocumentCollection {
 		super();
 	}
 
+	/**
+	 * Create a corpus with copies of all documents in the specified corpus.
+	 * The copy has the same input and reference annotations and equivalences as the specified corpus, unresolved, and empty prediction annotation sets.
+	 * This is a full copy, its cost is proportional to the size of the specified corpus. Annotations are not shared between copies because back-references and equivalences are stored in the annotations themselves.
+	 * @param reference corpus to copy, copies are made from annotation references so the specified corpus may or may not be resolved.
+	 * @see Document#Document(Corpus, Document)
+	 */
+	public Corpus(Corpus reference) {
+		super();
+		for (Document doc : reference.documents.values()) {
+			new Document(this, doc);
+		}
+	}
+
 	/**
 	 * Returns either this corpus contains a document with the specified identifier.
 	 * @param id the identifier of the document.
@@ -51,6 +72,7 @@ public class Corpus implements DocumentCollection {
 	 * @throws BioNLPSTException if this corpus already has a document with the same identifier as the specified document.
 	 */
 	void addDocument(Document doc) throws BioNLPSTException {
+		checkNotFrozen();
 		String id = doc.getId();
 		if (documents.containsKey(id)) {
 			throw new BioNLPSTException("duplicate document identifier: " + id);
@@ -76,4 +98,56 @@ public class Corpus implements DocumentCollection {
 			doc.resolveReferences(logger);
 		}
 	}
+
+	/**
+	 * Resolve all references in all annotations in this corpus, documents are resolved concurrently.
+	 * Messages are collected in a concurrent logger, then added to the specified logger sorted by location.
+	 * @param logger message container where to store warnings and errors.
+	 * @param executor executor, if null then equivalent to resolveReferences(logger).
+	 */
+	public void resolveReferences(CheckLogger logger, ExecutorService executor) {
+		if (executor == null) {
+			resolveReferences(logger);
+			return;
+		}
+		final ConcurrentCheckLogger concurrentLogger = new ConcurrentCheckLogger(logger);
+		List<Future<?>> futures = new ArrayList<Future<?>>(documents.size());
+		for (final Document doc : documents.values()) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					doc.resolveReferences(concurrentLogger);
+				}
+			}));
+		}
+		Util.waitAll(futures);
+		logger.addMessages(concurrentLogger);
+	}
+
+	/**
+	 * Freezes this corpus. Documents, annotations and equivalences cannot be added to a frozen corpus, and its references cannot be resolved.
+	 * A frozen corpus can be read concurrently, for instance to make copies where predictions are loaded.
+	 * @see #Corpus(Corpus)
+	 */
+	public void freeze() {
+		frozen = true;
+	}
+
+	/**
+	 * Returns either this corpus is frozen.
+	 * @return either this corpus is frozen.
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Checks that this corpus is not frozen. This method is called before any modification of this corpus, its documents or its annotations.
+	 * @throws BioNLPSTException if this corpus is frozen.
+	 */
+	void checkNotFrozen() throws BioNLPSTException {
+		if (frozen) {
+			throw new BioNLPSTException("corpus is frozen");
+		}
+	}
 }
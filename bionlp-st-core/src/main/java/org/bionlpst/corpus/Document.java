@@ -68,6 +68,25 @@ public class Document implements DocumentCollection {
 		this(corpus, id, Util.readWholeStream(new InputStreamReader(is)));
 	}
 
+	/**
+	 * Creates a new document with the same identifier, contents, input and reference annotations, and equivalences as the specified document.
+	 * Annotations and equivalences are copied unresolved, the prediction annotation set of the new document is empty. The specified document is not modified, thus the same document can be copied concurrently.
+	 * @param corpus collection to which belongs this document.
+	 * @param reference document to copy, copies are made from annotation references so the specified document may or may not be resolved.
+	 * @throws BioNLPSTException if the specified corpus already contains a document with the same identifier as this document.
+	 */
+	public Document(Corpus corpus, Document reference) throws BioNLPSTException {
+		this(corpus, reference.id, reference.contents);
+		// messages were issued when the reference document was read
+		CheckLogger logger = new CheckLogger();
+		AnnotationCopier copier = new AnnotationCopier(logger);
+		copier.copyAnnotations(reference.inputAnnotationSet, inputAnnotationSet);
+		copier.copyAnnotations(reference.referenceAnnotationSet, referenceAnnotationSet);
+		for (Equivalence equiv : reference.equivalences) {
+			new Equivalence(logger, this, equiv.getLocation(), equiv.getAnnotationReferences());
+		}
+	}
+
 	/**
 	 * Returns the corpus to which this document belongs.
 	 * @return the corpus to which this document belongs.
@@ -130,6 +149,7 @@ public class Document implements DocumentCollection {
 	 * @param equivalence equivalence to add
 	 */
 	void addEquivalence(CheckLogger logger, Equivalence equivalence) {
+		corpus.checkNotFrozen();
 		Iterator<Equivalence> it = this.equivalences.iterator();
 		while (it.hasNext()) {
 			Equivalence equiv = it.next();
@@ -3,11 +3,27 @@ package org.bionlpst.corpus;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.LinkedHashSet;
 
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
+import org.bionlpst.util.Vocabulary;
 
 public class DocumentIdFilter implements Filter<Annotation> {
+	/**
+	 * Reads document identifiers, one per line, into a vocabulary.
+	 */
+	public static final ResourceRegistry.Loader<Collection<String>> DOCUMENT_IDS = new ResourceRegistry.Loader<Collection<String>>() {
+		@Override
+		public String getKey() {
+			return "document-ids";
+		}
+
+		@Override
+		public Collection<String> load(BufferedReader r) throws IOException {
+			return Vocabulary.read(r, false);
+		}
+	};
+
 	private final Collection<String> documentIds;
 	private final boolean excludeIds;
 
@@ -22,23 +38,11 @@ public class DocumentIdFilter implements Filter<Annotation> {
 	}
 	
 	public DocumentIdFilter(BufferedReader r, boolean excludeIds) throws IOException {
-		this(getIds(r), excludeIds);
+		this(Vocabulary.read(r, false), excludeIds);
 	}
 	
 	public DocumentIdFilter(BufferedReader r) throws IOException {
-		this(getIds(r));
-	}
-
-	private static Collection<String> getIds(BufferedReader r) throws IOException {
-		Collection<String> result = new LinkedHashSet<String>();
-		while (true) {
-			String line = r.readLine();
-			if (line == null) {
-				break;
-			}
-			result.add(line.trim());
-		}
-		return result;
+		this(Vocabulary.read(r, false));
 	}
 
 	@Override
@@ -63,6 +63,14 @@ public class Equivalence {
 		return location;
 	}
 
+	/**
+	 * Returns the references of equivalent annotations. The returned collection is an unmodifiable view.
+	 * @return the references of equivalent annotations.
+	 */
+	public Collection<String> getAnnotationReferences() {
+		return Collections.unmodifiableCollection(annotationReferences);
+	}
+
 	/**
 	 * Returns the equivalent annotations. If the references were not resolved, then the returned collection is empty. The returned collection is an unmodifiable view.
 	 * @return the equivalent annotations.
@@ -84,6 +92,7 @@ public class Equivalence {
 	 * @param logger message container where to store warnings and errors.
 	 */
 	public void resolveReferences(CheckLogger logger) {
+		document.getCorpus().checkNotFrozen();
 		for (String id : annotationReferences) {
 			AnnotationSet referenceAnnotationSet = document.getReferenceAnnotationSet();
 			if (referenceAnnotationSet.hasAnnotation(id)) {
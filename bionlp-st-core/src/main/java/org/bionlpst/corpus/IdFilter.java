@@ -3,15 +3,36 @@ package org.bionlpst.corpus;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
 import org.bionlpst.util.Util;
 
 public class IdFilter implements Filter<Annotation> {
+	/**
+	 * Reads annotation identifiers, one document identifier and one annotation identifier separated by a tab per line, the loaded map is unmodifiable.
+	 */
+	public static final ResourceRegistry.Loader<Map<String,Collection<String>>> ANNOTATION_IDS = new ResourceRegistry.Loader<Map<String,Collection<String>>>() {
+		@Override
+		public String getKey() {
+			return "annotation-ids";
+		}
+
+		@Override
+		public Map<String,Collection<String>> load(BufferedReader r) throws IOException {
+			Map<String,Collection<String>> result = getIds(r);
+			for (Map.Entry<String,Collection<String>> e : result.entrySet()) {
+				e.setValue(Collections.unmodifiableCollection(e.getValue()));
+			}
+			return Collections.unmodifiableMap(result);
+		}
+	};
+
 	private final Map<String,Collection<String>> annotationIds;
 	private final boolean excludeIds;
 
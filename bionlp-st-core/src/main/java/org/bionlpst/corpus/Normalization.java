@@ -45,6 +45,7 @@ public class Normalization extends SingleReferenceAnnotation {
 	}
 
 	public void setLabel(String label) {
+		getDocument().getCorpus().checkNotFrozen();
 		this.label = label;
 	}
 
@@ -1,23 +1,30 @@
 package org.bionlpst.corpus;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.bionlpst.BioNLPSTException;
+import org.bionlpst.util.ArrayMap;
 import org.bionlpst.util.Location;
+import org.bionlpst.util.SymbolTable;
 import org.bionlpst.util.message.CheckLogger;
 
 /**
  * Relation annotations.
+ * Roles, argument references and arguments are stored in arrays in the order of the argument references, roles are canonicalized in the shared symbol table.
  * @author rbossy
  *
  */
 public class Relation extends Annotation {
-	private final Map<String,String> argumentReferences;
-	private final Map<String,Annotation> arguments = new LinkedHashMap<String,Annotation>();
+	private static final String[] NO_STRINGS = new String[0];
+	private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+	private String[] roles;
+	private String[] references;
+	private String[] argumentRoles = NO_STRINGS;
+	private Annotation[] arguments = NO_ANNOTATIONS;
 	
 	/**
 	 * Creates a new relation.
@@ -31,35 +38,75 @@ public class Relation extends Annotation {
 	 */
 	public Relation(CheckLogger logger, AnnotationSet annotationSet, Location location, String id, String type, Map<String,String> argumentReferences) {
 		super(logger, annotationSet, location, id, type);
-		this.argumentReferences = new HashMap<String,String>(argumentReferences);
+		int n = argumentReferences.size();
+		roles = new String[n];
+		references = new String[n];
+		int i = 0;
+		for (Map.Entry<String,String> e : argumentReferences.entrySet()) {
+			roles[i] = SymbolTable.SHARED.get(e.getKey());
+			references[i] = e.getValue();
+			i++;
+		}
 	}
 
 	@Override
 	public void resolveReferences(CheckLogger logger) throws BioNLPSTException {
-		for (Map.Entry<String,String> e : argumentReferences.entrySet()) {
-			arguments.put(e.getKey(), resolveReference(logger, e.getValue()));
+		Annotation[] arguments = new Annotation[references.length];
+		for (int i = 0; i < references.length; ++i) {
+			arguments[i] = resolveReference(logger, references[i]);
 		}
+		this.arguments = arguments;
+		this.argumentRoles = roles;
+	}
+	
+	/**
+	 * Returns the argument references of this relation with their roles.
+	 * @return the argument references of this relation with their roles. The returned map is an unmodifiable snapshot, arguments set afterwards are not visible in the returned map.
+	 */
+	public Map<String,String> getArgumentReferences() {
+		return new ArrayMap<String,String>(roles, references);
 	}
 	
 	public void setArgumentReference(CheckLogger logger, Location location, String role, String ref) {
-		if (argumentReferences.containsKey(role)) {
+		getDocument().getCorpus().checkNotFrozen();
+		if (Arrays.asList(roles).contains(role)) {
 			logger.suspicious(location, "duplicate argument " + role + ", ignoring");
 		}
 		else {
-			argumentReferences.put(role, ref);
+			// arrays are copied so that resolved arguments keep their roles
+			int n = roles.length;
+			roles = Arrays.copyOf(roles, n + 1);
+			roles[n] = SymbolTable.SHARED.get(role);
+			references = Arrays.copyOf(references, n + 1);
+			references[n] = ref;
+		}
+	}
+
+	private void checkResolved() throws IllegalStateException {
+		if (arguments.length == 0) {
+			throw new IllegalStateException("references were not resolved");
 		}
 	}
 
+	private int indexOfArgument(String role) throws IllegalStateException {
+		checkResolved();
+		for (int i = 0; i < argumentRoles.length; ++i) {
+			String r = argumentRoles[i];
+			if (r == role || r.equals(role)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Returns the arguments of this relation with their roles.
 	 * @return the arguments of this relation with their roles. The returned map is an unmodifiable view.
 	 * @throws IllegalStateException if references are not resolved.
 	 */
 	public Map<String,Annotation> getArgumentMap() throws IllegalStateException {
-		if (arguments.isEmpty()) {
-			throw new IllegalStateException("references were not resolved");
-		}
-		return Collections.unmodifiableMap(arguments);
+		checkResolved();
+		return new ArrayMap<String,Annotation>(argumentRoles, arguments);
 	}
 	
 	/**
@@ -68,10 +115,8 @@ public class Relation extends Annotation {
 	 * @throws IllegalStateException if references are not resolved.
 	 */
 	public Collection<Annotation> getArguments() throws IllegalStateException {
-		if (arguments.isEmpty()) {
-			throw new IllegalStateException("references were not resolved");
-		}
-		return Collections.unmodifiableCollection(arguments.values());
+		checkResolved();
+		return Collections.unmodifiableList(Arrays.asList(arguments));
 	}
 	
 	/**
@@ -80,10 +125,8 @@ public class Relation extends Annotation {
 	 * @throws IllegalStateException if references are not resolved.
 	 */
 	public Collection<String> getRoles() throws IllegalStateException {
-		if (arguments.isEmpty()) {
-			throw new IllegalStateException("references were not resolved");
-		}
-		return Collections.unmodifiableCollection(arguments.keySet());
+		checkResolved();
+		return Collections.unmodifiableList(Arrays.asList(argumentRoles));
 	}
 	
 	/**
@@ -94,11 +137,9 @@ public class Relation extends Annotation {
 	 * @throws IllegalStateException if references are not resolved.
 	 */
 	public Annotation getArgument(String role) throws BioNLPSTException, IllegalStateException {
-		if (arguments.isEmpty()) {
-			throw new IllegalStateException("references were not resolved");
-		}
-		if (arguments.containsKey(role)) {
-			return arguments.get(role);
+		int i = indexOfArgument(role);
+		if (i != -1) {
+			return arguments[i];
 		}
 		throw new BioNLPSTException("relation " + getId() + " has no argument " + role);
 	}
@@ -110,10 +151,7 @@ public class Relation extends Annotation {
 	 * @throws IllegalStateException if references are not resolved.
 	 */
 	public boolean hasArgument(String role) throws IllegalStateException {
-		if (arguments.isEmpty()) {
-			throw new IllegalStateException("references were not resolved");
-		}
-		return arguments.containsKey(role);
+		return indexOfArgument(role) != -1;
 	}
 
 	@Override
@@ -158,11 +196,11 @@ public class Relation extends Annotation {
 		sb.append(" in ");
 		sb.append(getDocument().getId());
 		sb.append(" {");
-		for (Map.Entry<String,Annotation> e : arguments.entrySet()) {
+		for (int i = 0; i < arguments.length; ++i) {
 			sb.append(' ');
-			sb.append(e.getKey());
+			sb.append(argumentRoles[i]);
 			sb.append(':');
-			sb.append(e.getValue().toString());
+			sb.append(arguments[i].toString());
 		}
 		sb.append(" }");
 		return sb.toString();
@@ -11,13 +11,38 @@ import java.util.List;
 import java.util.Map;
 
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.fragment.Fragment;
 import org.bionlpst.util.fragment.ImmutableFragment;
 
 public class SameSentenceFilter implements Filter<Annotation>, AnnotationVisitor<Void,Collection<Fragment>> {
+	/**
+	 * Reads sentence boundaries, one document identifier, start and end separated by tabs per line, the loaded map is unmodifiable.
+	 */
+	public static final ResourceRegistry.Loader<Map<String,List<Fragment>>> SENTENCES = new ResourceRegistry.Loader<Map<String,List<Fragment>>>() {
+		@Override
+		public String getKey() {
+			return "sentences";
+		}
+
+		@Override
+		public Map<String,List<Fragment>> load(BufferedReader r) throws IOException {
+			Map<String,List<Fragment>> result = getSentences(r);
+			for (Map.Entry<String,List<Fragment>> e : result.entrySet()) {
+				e.setValue(Collections.unmodifiableList(e.getValue()));
+			}
+			return Collections.unmodifiableMap(result);
+		}
+	};
+
 	private final Map<String,List<Fragment>> sentences;
+	private final Map<String,List<Fragment>> documentSentences = new HashMap<String,List<Fragment>>();
 
+	/**
+	 * Creates a new same sentence filter.
+	 * @param sentences sentence boundaries for each document identifier, this map is not modified and can be shared.
+	 */
 	public SameSentenceFilter(Map<String,List<Fragment>> sentences) {
 		super();
 		this.sentences = sentences;
@@ -66,16 +91,19 @@ public class SameSentenceFilter implements Filter<Annotation>, AnnotationVisitor
 		return this;
 	}
 	
-	private List<Fragment> getDocumentSentences(Document doc) {
+	private synchronized List<Fragment> getDocumentSentences(Document doc) {
 		String docId = doc.getId();
-		if (!sentences.containsKey(docId)) {
+		if (sentences.containsKey(docId)) {
+			return sentences.get(docId);
+		}
+		if (!documentSentences.containsKey(docId)) {
 			String contents = doc.getContents();
 			Fragment fakeSentence = new ImmutableFragment(0, contents.length());
 			List<Fragment> sentenceList = Collections.singletonList(fakeSentence);
-			sentences.put(docId, sentenceList);
+			documentSentences.put(docId, sentenceList);
 			return sentenceList;
 		}
-		return sentences.get(docId);
+		return documentSentences.get(docId);
 	}
 
 	@Override
@@ -1,9 +1,11 @@
 package org.bionlpst.corpus;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.bionlpst.util.Location;
 import org.bionlpst.util.fragment.Fragment;
@@ -13,11 +15,12 @@ import org.bionlpst.util.message.CheckLogger;
 
 /**
  * Text bound annotations.
+ * Fragments are packed in an array of offsets: start and end of the first fragment, then start and end of the second fragment, etc.
  * @author rbossy
  *
  */
 public class TextBound extends Annotation implements Fragment {
-	private final List<ImmutableFragment> fragments;
+	private final int[] offsets;
 
 
 	/**
@@ -32,14 +35,18 @@ public class TextBound extends Annotation implements Fragment {
 	 */
 	public TextBound(CheckLogger logger, AnnotationSet annotationSet, Location location, String id, String type, List<ImmutableFragment> fragments) throws NullPointerException {
 		super(logger, annotationSet, location, id, type);
+		this.offsets = pack(checkFragments(logger, annotationSet, location, fragments));
+	}
+
+	private static List<ImmutableFragment> checkFragments(CheckLogger logger, AnnotationSet annotationSet, Location location, List<ImmutableFragment> fragments) throws NullPointerException {
 		if (fragments == null) {
 			throw new NullPointerException();
 		}
-		this.fragments = new ArrayList<ImmutableFragment>(fragments);
+		List<ImmutableFragment> result = new ArrayList<ImmutableFragment>(fragments);
 		if (fragments.isEmpty()) {
 			logger.serious(location, "no fragments");
-			this.fragments.add(new ImmutableFragment(0, 0));
-			return;
+			result.add(new ImmutableFragment(0, 0));
+			return result;
 		}
 		int prevStart = Integer.MIN_VALUE;
 		for (ImmutableFragment frag : fragments) {
@@ -49,8 +56,8 @@ public class TextBound extends Annotation implements Fragment {
 			}
 			prevStart = frag.getStart();
 		}
-		Collections.sort(this.fragments, FragmentComparator.START_INVERSE_END);
-		Iterator<ImmutableFragment> fragIt = this.fragments.iterator();
+		Collections.sort(result, FragmentComparator.START_INVERSE_END);
+		Iterator<ImmutableFragment> fragIt = result.iterator();
 		int docLen = annotationSet.getDocument().getContents().length();
 		int reach = -1;
 		while (fragIt.hasNext()) {
@@ -61,20 +68,50 @@ public class TextBound extends Annotation implements Fragment {
 				continue;
 			}
 			if (frag.getStart() <= reach) {
-				logger.serious(location, "overlapping fragments: " + this.fragments);
+				logger.serious(location, "overlapping fragments: " + result);
 				fragIt.remove();
 				continue;
 			}
 			reach = Math.max(reach, frag.getEnd());
 		}
+		return result;
+	}
+
+	private static int[] pack(List<ImmutableFragment> fragments) {
+		int[] result = new int[fragments.size() * 2];
+		int i = 0;
+		for (ImmutableFragment frag : fragments) {
+			result[i++] = frag.getStart();
+			result[i++] = frag.getEnd();
+		}
+		return result;
 	}
 
 	/**
 	 * Returns this text bound annotation fragments.
-	 * @return this text bound annotation fragments. The returned list is an unmodifiable view.
+	 * @return this text bound annotation fragments. The returned list is an unmodifiable view, fragments are created on access.
 	 */
 	public List<ImmutableFragment> getFragments() {
-		return Collections.unmodifiableList(fragments);
+		return new FragmentList();
+	}
+
+	private class FragmentList extends AbstractList<ImmutableFragment> implements RandomAccess {
+		private FragmentList() {
+			super();
+		}
+
+		@Override
+		public ImmutableFragment get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException();
+			}
+			return new ImmutableFragment(offsets[index * 2], offsets[index * 2 + 1]);
+		}
+
+		@Override
+		public int size() {
+			return offsets.length / 2;
+		}
 	}
 
 	/**
@@ -83,8 +120,8 @@ public class TextBound extends Annotation implements Fragment {
 	 */
 	public int getLength() {
 		int result = 0;
-		for (ImmutableFragment frag : fragments) {
-			result += frag.getEnd() - frag.getStart();
+		for (int i = 0; i < offsets.length; i += 2) {
+			result += offsets[i + 1] - offsets[i];
 		}
 		return result;
 	}
@@ -92,15 +129,11 @@ public class TextBound extends Annotation implements Fragment {
 	public void getForm(StringBuilder sb, String separator) {
 		Document doc = getDocument();
 		String contents = doc.getContents();
-		boolean notFirst = false;
-		for (Fragment frag : fragments) {
-			if (notFirst) {
+		for (int i = 0; i < offsets.length; i += 2) {
+			if (i > 0) {
 				sb.append(separator);
 			}
-			else {
-				notFirst = true;
-			}
-			sb.append(contents.substring(frag.getStart(), frag.getEnd()));
+			sb.append(contents, offsets[i], offsets[i + 1]);
 		}
 	}
 	
@@ -122,12 +155,12 @@ public class TextBound extends Annotation implements Fragment {
 	
 	@Override
 	public int getStart() {
-		return fragments.get(0).getStart();
+		return offsets[0];
 	}
 	
 	@Override
 	public int getEnd() {
-		return fragments.get(fragments.size() - 1).getEnd();
+		return offsets[offsets.length - 1];
 	}
 
 	@Override
@@ -0,0 +1,97 @@
+package org.bionlpst.corpus.source.bionlpst;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.bionlpst.BioNLPSTException;
+
+/**
+ * Random access collection of the entries of a ZIP file.
+ * The central directory is read once when the collection is first accessed, entries are inflated only when opened.
+ * The ZIP file remains open until the collection is closed, accessing a closed collection opens the ZIP file again.
+ * @author rbossy
+ *
+ */
+public abstract class AbstractZipFileInputStreamCollection implements RandomAccessInputStreamCollection, Closeable {
+	private ZipFile zipFile = null;
+	private List<String> entryNames = null;
+
+	protected abstract File getFile() throws IOException;
+
+	private synchronized ZipFile getZipFile() throws IOException {
+		if (zipFile == null) {
+			zipFile = new ZipFile(getFile());
+			List<String> names = new ArrayList<String>(zipFile.size());
+			Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while (entries.hasMoreElements()) {
+				names.add(getEntryName(entries.nextElement()));
+			}
+			entryNames = Collections.unmodifiableList(names);
+		}
+		return zipFile;
+	}
+
+	private String getEntryName(ZipEntry entry) {
+		return getName() + File.separator + entry.getName();
+	}
+
+	@Override
+	public synchronized List<String> getEntryNames() throws IOException {
+		getZipFile();
+		return entryNames;
+	}
+
+	/**
+	 * Returns a signature computed from the size and the modification time of the ZIP file, the ZIP file is not opened.
+	 */
+	@Override
+	public long getSignature() throws IOException {
+		File f = getFile();
+		return f.length() * 31 + f.lastModified();
+	}
+
+	@Override
+	public InputStream getContents(String name) throws IOException {
+		ZipFile zf = getZipFile();
+		String prefix = getName() + File.separator;
+		if (name.startsWith(prefix)) {
+			ZipEntry entry = zf.getEntry(name.substring(prefix.length()));
+			if (entry != null) {
+				return zf.getInputStream(entry);
+			}
+		}
+		throw new BioNLPSTException("no entry " + name + " in " + getName());
+	}
+
+	@Override
+	public InputStreamIterator getIterator(List<String> names) throws IOException {
+		return new EntryListInputStreamIterator(this, names);
+	}
+
+	@Override
+	public InputStreamIterator getIterator() throws IOException {
+		return getIterator(getEntryNames());
+	}
+
+	/**
+	 * Closes the ZIP file if it is open.
+	 * Streams opened from this collection are closed as well.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (zipFile != null) {
+			ZipFile zf = zipFile;
+			zipFile = null;
+			entryNames = null;
+			zf.close();
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.bionlpst.corpus.source.bionlpst;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -9,11 +10,18 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.corpus.AnnotationSet;
@@ -32,22 +40,38 @@ import org.bionlpst.util.Location;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.fragment.ImmutableFragment;
 import org.bionlpst.util.message.CheckLogger;
+import org.bionlpst.util.message.ConcurrentCheckLogger;
 
-public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSource {
+public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSource, Closeable {
 	public static final String EXT_CONTENTS = ".txt";
 	public static final String EXT_INPUT = ".a1";
 	public static final String EXT_OUTPUT = ".a2";
 	
-	private static final String[] EXTS_ALL = { EXT_CONTENTS, EXT_INPUT, EXT_OUTPUT };
-	private static final String[] EXTS_OUTPUT_ONLY = { EXT_CONTENTS, EXT_INPUT, EXT_OUTPUT };
-
 	private final InputStreamCollection inputStreamCollection;
+	private ExecutorService executor = null;
 	
 	public BioNLPSTSource(InputStreamCollection inputStreamCollection) {
 		super();
 		this.inputStreamCollection = inputStreamCollection;
 	}
 
+	public InputStreamCollection getInputStreamCollection() {
+		return inputStreamCollection;
+	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Sets the executor used to parse documents concurrently.
+	 * If the executor is null, then entries are parsed sequentially as they are read.
+	 * @param executor executor, or null.
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
 	private static String getDocumentIdFromPath(String path) {
 		int dot = path.lastIndexOf('.');
 		if (dot == -1) {
@@ -79,11 +103,12 @@ public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSour
 
 	@Override
 	public void fillContentAndReference(CheckLogger logger, Corpus corpus, boolean loadOutput) throws BioNLPSTException, IOException {
-		Collection<InputStreamEntry> records = collectEntries(EXTS_ALL);
-		loadDocuments(corpus, records);
-		loadInputAnnotations(logger, corpus, records);
-		if (loadOutput) {
-			loadOutputAnnotations(logger, corpus, records, AnnotationSetSelector.REFERENCE);
+		Loader loader = new Loader(logger, corpus, true, loadOutput ? AnnotationSetSelector.REFERENCE : null);
+		try {
+			loader.load();
+		}
+		finally {
+			close();
 		}
 	}
 
@@ -96,8 +121,13 @@ public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSour
 	
 	@Override
 	public void fillPredictions(CheckLogger logger, Corpus corpus) throws BioNLPSTException, IOException {
-		Collection<InputStreamEntry> entries = collectEntries(EXTS_OUTPUT_ONLY);
-		loadOutputAnnotations(logger, corpus, entries, AnnotationSetSelector.PREDICTION);
+		Loader loader = new Loader(logger, corpus, false, AnnotationSetSelector.PREDICTION);
+		try {
+			loader.load();
+		}
+		finally {
+			close();
+		}
 	}
 
 	@Override
@@ -105,94 +135,300 @@ public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSour
 		return inputStreamCollection.getName();
 	}
 
-	private Collection<InputStreamEntry> collectEntries(String... exts) throws IOException {
-		Collection<InputStreamEntry> result = new ArrayList<InputStreamEntry>();
-		InputStreamIterator it = inputStreamCollection.getIterator();
-		while (it.next()) {
-			String name = it.getName();
-			if (matchExt(name, exts)) {
-				InputStream contents = it.getContents();
-				InputStreamEntry z = new InputStreamEntry(name, contents);
-				result.add(z);
-			}
+	/**
+	 * Releases the resources held by the input stream collection, if it holds any.
+	 * This method is called after each load, so that sources do not keep archives open between loads.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (inputStreamCollection instanceof Closeable) {
+			((Closeable) inputStreamCollection).close();
 		}
-		return result;
 	}
-	
-	private static boolean matchExt(String name, String... exts) {
-		for (String ext : exts) {
-			if (name.endsWith(ext)) {
-				return true;
+
+	/**
+	 * Loads documents and annotations as entries come off the input stream iterator.
+	 * Annotation files are parsed directly from the entry stream, unless the document has not been loaded yet, or for output annotations, unless the input annotations of the document have not been loaded yet.
+	 * In these cases the file contents are kept until the document or its input annotations are loaded.
+	 * If the source has an executor, then all entries are read first, and the annotation files of each document are parsed concurrently.
+	 */
+	private class Loader {
+		private final CheckLogger logger;
+		private final Corpus corpus;
+		private final boolean loadDocuments;
+		private final AnnotationSetSelector outputSelector;
+		private final Map<String,List<DeferredEntry>> deferred = new LinkedHashMap<String,List<DeferredEntry>>();
+		private final Collection<String> inputLoaded = new HashSet<String>();
+
+		private Loader(CheckLogger logger, Corpus corpus, boolean loadDocuments, AnnotationSetSelector outputSelector) {
+			super();
+			this.logger = logger;
+			this.corpus = corpus;
+			this.loadDocuments = loadDocuments;
+			this.outputSelector = outputSelector;
+		}
+
+		private void load() throws IOException {
+			if (executor != null) {
+				loadParallel();
+				return;
+			}
+			InputStreamIterator it = getIterator();
+			while (it.next()) {
+				String name = it.getName();
+				if (name.endsWith(EXT_CONTENTS)) {
+					if (loadDocuments) {
+						loadDocument(name, it.getContents());
+					}
+				}
+				else {
+					AnnotationSetSelector asetSelect = getAnnotationSetSelector(name);
+					if (asetSelect != null) {
+						loadAnnotations(name, asetSelect, it.getContents());
+					}
+				}
+				it.closeEntry();
 			}
+			finish();
 		}
-		return false;
-	}
 
-	private static void loadDocuments(Corpus corpus, Collection<InputStreamEntry> records) {
-		for (InputStreamEntry u : records) {
-			if (u.isDocumentContents()) {
-				u.createDocument(corpus);
+		/**
+		 * Returns an iterator over the entries of the collection.
+		 * If the collection supports random access, then only entries that will be loaded are visited, grouped by document: contents first, then input annotations, then output annotations.
+		 */
+		private InputStreamIterator getIterator() throws IOException {
+			if (!(inputStreamCollection instanceof RandomAccessInputStreamCollection)) {
+				return inputStreamCollection.getIterator();
 			}
+			RandomAccessInputStreamCollection collection = (RandomAccessInputStreamCollection) inputStreamCollection;
+			final Map<String,Integer> docOrder = new HashMap<String,Integer>();
+			List<String> names = new ArrayList<String>();
+			for (String name : collection.getEntryNames()) {
+				if (getEntryRank(name) == -1) {
+					continue;
+				}
+				String docId = getDocumentIdFromPath(name);
+				if (!docOrder.containsKey(docId)) {
+					docOrder.put(docId, docOrder.size());
+				}
+				names.add(name);
+			}
+			Collections.sort(names, new Comparator<String>() {
+				@Override
+				public int compare(String a, String b) {
+					int r = Integer.compare(docOrder.get(getDocumentIdFromPath(a)), docOrder.get(getDocumentIdFromPath(b)));
+					if (r != 0) {
+						return r;
+					}
+					return Integer.compare(getEntryRank(a), getEntryRank(b));
+				}
+			});
+			return collection.getIterator(names);
 		}
-	}
-	
-	private static void loadInputAnnotations(CheckLogger logger, Corpus corpus, Collection<InputStreamEntry> record) throws IOException {
-		for (InputStreamEntry u : record) {
-			if (u.isInputAnnotationSet()) {
-				u.createInputAnnotations(logger, corpus);
+
+		private int getEntryRank(String name) {
+			if (name.endsWith(EXT_CONTENTS)) {
+				return loadDocuments ? 0 : -1;
 			}
+			AnnotationSetSelector asetSelect = getAnnotationSetSelector(name);
+			if (asetSelect == null) {
+				return -1;
+			}
+			return asetSelect == AnnotationSetSelector.INPUT ? 1 : 2;
 		}
-	}
-	
-	private static void loadOutputAnnotations(CheckLogger logger, Corpus corpus, Collection<InputStreamEntry> entries, AnnotationSetSelector loadOutput) throws IOException {
-		for (InputStreamEntry u : entries) {
-			if (u.isOutputAnnotationSet()) {
-				u.createOutputAnnotations(logger, corpus, loadOutput);
+
+		private AnnotationSetSelector getAnnotationSetSelector(String name) {
+			if (name.endsWith(EXT_INPUT)) {
+				return loadDocuments ? AnnotationSetSelector.INPUT : null;
+			}
+			if (name.endsWith(EXT_OUTPUT)) {
+				return outputSelector;
 			}
+			return null;
 		}
-	}
 
-	private static class InputStreamEntry {
-		private final String name;
-		private final String contents;
+		private void loadDocument(String name, InputStream is) throws IOException {
+			String docId = getDocumentIdFromPath(name);
+			String contents = Util.readWholeStream(new InputStreamReader(is));
+			new Document(corpus, docId, contents);
+			flush(docId);
+		}
 
-		private InputStreamEntry(String name, InputStream contents) throws IOException {
-			this.name = name;
-			this.contents = Util.readWholeStream(new InputStreamReader(contents));
+		private boolean isReady(String docId, AnnotationSetSelector asetSelect) {
+			if (!loadDocuments) {
+				return true;
+			}
+			if (!corpus.hasDocument(docId)) {
+				return false;
+			}
+			return asetSelect == AnnotationSetSelector.INPUT || inputLoaded.contains(docId);
 		}
-		
-		private boolean isDocumentContents() {
-			return name.endsWith(EXT_CONTENTS);
+
+		private void loadAnnotations(String name, AnnotationSetSelector asetSelect, InputStream is) throws IOException {
+			String docId = getDocumentIdFromPath(name);
+			if (isReady(docId, asetSelect)) {
+				parse(docId, name, asetSelect, new InputStreamReader(is));
+				flush(docId);
+				return;
+			}
+			defer(docId, name, asetSelect, is);
 		}
-		
-		private void createDocument(Corpus corpus) {
-			String docId = BioNLPSTSource.getDocumentIdFromPath(name);
-			new Document(corpus, docId, contents);
+
+		private void defer(String docId, String name, AnnotationSetSelector asetSelect, InputStream is) throws IOException {
+			String contents = Util.readWholeStream(new InputStreamReader(is));
+			List<DeferredEntry> entries = deferred.get(docId);
+			if (entries == null) {
+				entries = new ArrayList<DeferredEntry>(2);
+				deferred.put(docId, entries);
+			}
+			entries.add(new DeferredEntry(name, asetSelect, contents));
 		}
-		
-		private boolean isInputAnnotationSet() {
-			return name.endsWith(EXT_INPUT);
+
+		/**
+		 * Reads all entries and creates documents, then parses the annotation files of each document in a separate task.
+		 * All tasks share a concurrent logger so that the error limit stops all of them, messages are added to the logger sorted by location.
+		 */
+		private void loadParallel() throws IOException {
+			InputStreamIterator it = getIterator();
+			while (it.next()) {
+				String name = it.getName();
+				if (name.endsWith(EXT_CONTENTS)) {
+					if (loadDocuments) {
+						loadDocument(name, it.getContents());
+					}
+				}
+				else {
+					AnnotationSetSelector asetSelect = getAnnotationSetSelector(name);
+					if (asetSelect != null) {
+						defer(getDocumentIdFromPath(name), name, asetSelect, it.getContents());
+					}
+				}
+				it.closeEntry();
+			}
+			ConcurrentCheckLogger sharedLogger = new ConcurrentCheckLogger(logger);
+			List<Future<Void>> futures = new ArrayList<Future<Void>>(deferred.size());
+			for (Map.Entry<String,List<DeferredEntry>> e : deferred.entrySet()) {
+				if (corpus.hasDocument(e.getKey())) {
+					futures.add(executor.submit(new DocumentParser(sharedLogger, corpus, e.getValue())));
+				}
+				else {
+					for (DeferredEntry de : e.getValue()) {
+						parseAnnotations(sharedLogger, corpus, de.asetSelect, de.name, new StringReader(de.contents));
+					}
+				}
+			}
+			try {
+				for (Future<Void> f : futures) {
+					f.get();
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new BioNLPSTException(e);
+			}
+			catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				throw new BioNLPSTException(cause);
+			}
+			logger.addMessages(sharedLogger);
+			deferred.clear();
+		}
+
+		private void parse(String docId, String name, AnnotationSetSelector asetSelect, Reader r) throws IOException {
+			parseAnnotations(logger, corpus, asetSelect, name, r);
+			if (asetSelect == AnnotationSetSelector.INPUT) {
+				inputLoaded.add(docId);
+			}
+		}
+
+		private void flush(String docId) throws IOException {
+			List<DeferredEntry> entries = deferred.get(docId);
+			if (entries == null) {
+				return;
+			}
+			boolean progress = true;
+			while (progress) {
+				progress = false;
+				Iterator<DeferredEntry> it = entries.iterator();
+				while (it.hasNext()) {
+					DeferredEntry e = it.next();
+					if (isReady(docId, e.asetSelect)) {
+						it.remove();
+						parse(docId, e.name, e.asetSelect, new StringReader(e.contents));
+						progress = true;
+					}
+				}
+			}
+			if (entries.isEmpty()) {
+				deferred.remove(docId);
+			}
+		}
+
+		/**
+		 * Parses entries that are still deferred: input annotations first, then output annotations.
+		 */
+		private void finish() throws IOException {
+			for (boolean input : new boolean[] { true, false }) {
+				for (Map.Entry<String,List<DeferredEntry>> e : deferred.entrySet()) {
+					for (DeferredEntry de : e.getValue()) {
+						if ((de.asetSelect == AnnotationSetSelector.INPUT) == input) {
+							parse(e.getKey(), de.name, de.asetSelect, new StringReader(de.contents));
+						}
+					}
+				}
+			}
+			deferred.clear();
 		}
-		
-		private void createInputAnnotations(CheckLogger logger, Corpus corpus) throws IOException {
-			Reader reader = new StringReader(contents);
-			BioNLPSTSource.parseAnnotations(logger, corpus, AnnotationSetSelector.INPUT, name, reader);
+	}
+
+	/**
+	 * Parses the annotation files of a single document, input annotations first.
+	 */
+	private static class DocumentParser implements Callable<Void> {
+		private final CheckLogger logger;
+		private final Corpus corpus;
+		private final List<DeferredEntry> entries;
+
+		private DocumentParser(CheckLogger logger, Corpus corpus, List<DeferredEntry> entries) {
+			super();
+			this.logger = logger;
+			this.corpus = corpus;
+			this.entries = entries;
 		}
-		
-		private boolean isOutputAnnotationSet() {
-			return name.endsWith(EXT_OUTPUT);
+
+		@Override
+		public Void call() throws IOException {
+			for (boolean input : new boolean[] { true, false }) {
+				for (DeferredEntry de : entries) {
+					if ((de.asetSelect == AnnotationSetSelector.INPUT) == input) {
+						parseAnnotations(logger, corpus, de.asetSelect, de.name, new StringReader(de.contents));
+					}
+				}
+			}
+			return null;
 		}
-		
-		private void createOutputAnnotations(CheckLogger logger, Corpus corpus, AnnotationSetSelector loadOutput) throws IOException {
-			Reader reader = new StringReader(contents);
-			BioNLPSTSource.parseAnnotations(logger, corpus, loadOutput, name, reader);
+	}
+
+	private static class DeferredEntry {
+		private final String name;
+		private final AnnotationSetSelector asetSelect;
+		private final String contents;
+
+		private DeferredEntry(String name, AnnotationSetSelector asetSelect, String contents) {
+			super();
+			this.name = name;
+			this.asetSelect = asetSelect;
+			this.contents = contents;
 		}
 	}
 
 	private static void parseAnnotations(CheckLogger logger, AnnotationSet aset, String source, BufferedReader reader) throws IOException {
 		aset.setParsed();
 		int lineno = 0;
-		while (true) {
+		while (!logger.hasReachedErrorLimit()) {
 			String line = reader.readLine();
 			if (line == null) {
 				break;
@@ -254,64 +490,91 @@ public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSour
 		new Equivalence(logger, aset.getDocument(), location, annotationReferences);
 	}
 
-	private static Pattern TEXT_BOUND_PARSER = Pattern.compile("(?<type>\\S+) (?<fragments>\\d+ \\d+(?:;\\d+ \\d+)*)\t(?<control>.*)");
-
 	private static void parseTextBound(CheckLogger logger, AnnotationSet aset, Location location, String id, String rest) {
-		Matcher m = TEXT_BOUND_PARSER.matcher(rest);
-		if (!m.matches()) {
+		int typeEnd = skipNonWhitespace(rest, 0);
+		if (typeEnd == 0 || !rest.startsWith(" ", typeEnd) || !checkFragments(rest, typeEnd + 1)) {
 			logger.serious(location, "ill formed text-bound annotation: '" + rest + "'");
 			new DummyAnnotation(logger, aset, location, id, getDummyType(rest));
 			return;
 		}
-		String type = m.group("type");
-		String sFragments = m.group("fragments");
-		List<ImmutableFragment> fragments = parseFragments(sFragments);
+		String type = rest.substring(0, typeEnd);
+		List<ImmutableFragment> fragments = parseFragments(rest, typeEnd + 1);
 		new TextBound(logger, aset, location, id, type, fragments);
 	}
 
-	private static List<ImmutableFragment> parseFragments(String sFragments) {
-		List<ImmutableFragment> result = new ArrayList<ImmutableFragment>();
-		for (String sFrag : Util.split(sFragments, ';')) {
-			ImmutableFragment frag = parseFragment(sFrag);
-			result.add(frag);
+	/**
+	 * Checks that fragments starting at the specified position are well formed and followed by a tab.
+	 */
+	private static boolean checkFragments(String rest, int pos) {
+		while (true) {
+			int startEnd = skipDigits(rest, pos);
+			if (startEnd == pos || !rest.startsWith(" ", startEnd)) {
+				return false;
+			}
+			int endEnd = skipDigits(rest, startEnd + 1);
+			if (endEnd == startEnd + 1) {
+				return false;
+			}
+			if (rest.startsWith(";", endEnd)) {
+				pos = endEnd + 1;
+				continue;
+			}
+			return rest.startsWith("\t", endEnd) && !hasLineTerminator(rest, endEnd + 1);
 		}
-		return result;
 	}
 
-	private static ImmutableFragment parseFragment(String sFrag) {
-		int space = sFrag.indexOf(' ');
-		int start = Integer.parseInt(sFrag.substring(0, space));
-		int end = Integer.parseInt(sFrag.substring(space+1));
-		return new ImmutableFragment(start, end);
+	private static List<ImmutableFragment> parseFragments(String rest, int pos) {
+		List<ImmutableFragment> result = new ArrayList<ImmutableFragment>(1);
+		while (true) {
+			int startEnd = skipDigits(rest, pos);
+			int endEnd = skipDigits(rest, startEnd + 1);
+			int start = parseInt(rest, pos, startEnd);
+			int end = parseInt(rest, startEnd + 1, endEnd);
+			result.add(new ImmutableFragment(start, end));
+			if (rest.charAt(endEnd) != ';') {
+				return result;
+			}
+			pos = endEnd + 1;
+		}
 	}
 
-	private static Pattern RELATION_PARSER = Pattern.compile("(?<type>\\S+) (?<args>.+)");
-	
 	private static void parseRelation(CheckLogger logger, AnnotationSet aset, Location location, String id, String rest) {
-		Matcher m = RELATION_PARSER.matcher(rest);
-		if (!m.matches()) {
+		int typeEnd = skipNonWhitespace(rest, 0);
+		if (typeEnd == 0 || !rest.startsWith(" ", typeEnd) || typeEnd + 1 == rest.length() || hasLineTerminator(rest, typeEnd + 1)) {
 			logger.serious(location, "ill formed relation, expected type and arguments: '" + rest + "'");
 			new DummyAnnotation(logger, aset, location, id, getDummyType(rest));
 			return;
 		}
-		String type = m.group("type");
-		String sArgs = m.group("args");
-		Map<String,String> args = parseArgs(logger, location, sArgs);
+		String type = rest.substring(0, typeEnd);
+		Map<String,String> args = parseArgs(logger, location, rest, typeEnd + 1);
 		new Relation(logger, aset, location, id, type, args);
 	}
 
-	private static Pattern ARGUMENT_PARSER = Pattern.compile("\\s*(?<role>[^:]+):(?<ref>\\S+)\\s*");
- 
-	private static Map<String,String> parseArgs(CheckLogger logger, Location location, String sArgs) {
+	/**
+	 * Parses arguments in the form role:ref separated by whitespace.
+	 * Roles may contain whitespace and extend to the next colon, references extend to the next whitespace. A colon that is not followed by a reference is skipped.
+	 */
+	private static Map<String,String> parseArgs(CheckLogger logger, Location location, String rest, int pos) {
 		Map<String,String> result = new LinkedHashMap<String,String>();
-		Matcher m = ARGUMENT_PARSER.matcher(sArgs);
-		while (m.find()) {
-			String role = m.group("role");
-			String ref = m.group("ref");
+		int len = rest.length();
+		while (pos < len) {
+			int colon = rest.indexOf(':', pos);
+			if (colon == -1) {
+				break;
+			}
+			int refEnd = skipNonWhitespace(rest, colon + 1);
+			if (colon == pos || refEnd == colon + 1) {
+				pos = colon + 1;
+				continue;
+			}
+			int roleStart = Math.min(skipWhitespace(rest, pos), colon - 1);
+			String role = rest.substring(roleStart, colon);
+			String ref = rest.substring(colon + 1, refEnd);
 			if (result.containsKey(role)) {
 				logger.suspicious(location, "duplicate argument: " + role);
 			}
 			result.put(role, ref);
+			pos = skipWhitespace(rest, refEnd);
 		}
 		if (result.isEmpty()) {
 			logger.serious(location, "no arguments");
@@ -319,42 +582,120 @@ public class BioNLPSTSource implements ContentAndReferenceSource, PredictionSour
 		return result;
 	}
 
-	private static final Pattern NORMALIZATION_PARSER = Pattern.compile("(?<type>\\S+) Annotation:(?<ann>\\S+) Referent:(?<ref>\\S+)");
+	private static final String ANNOTATION_PREFIX = " Annotation:";
+	private static final String REFERENT_PREFIX = " Referent:";
 	
 	private static void parseNormalization(CheckLogger logger, AnnotationSet aset, Location location, String id, String rest) {
-		Matcher m = NORMALIZATION_PARSER.matcher(rest);
-		if (!m.matches()) {
+		int typeEnd = skipNonWhitespace(rest, 0);
+		int annStart = typeEnd + ANNOTATION_PREFIX.length();
+		int annEnd = skipNonWhitespace(rest, annStart);
+		int refStart = annEnd + REFERENT_PREFIX.length();
+		if (typeEnd == 0 || !rest.startsWith(ANNOTATION_PREFIX, typeEnd) || annEnd == annStart || !rest.startsWith(REFERENT_PREFIX, annEnd) || refStart == rest.length() || skipNonWhitespace(rest, refStart) != rest.length()) {
 			logger.serious(location, "ill formed normalization, expected type, Annotation and Referent");
 			new DummyAnnotation(logger, aset, location, id, getDummyType(rest));
 			return;
 		}
-		String type = m.group("type");
-		String annRef = m.group("ann");
-		String dbRef = m.group("ref");
+		String type = rest.substring(0, typeEnd);
+		String annRef = rest.substring(annStart, annEnd);
+		String dbRef = rest.substring(refStart);
 		new Normalization(logger, aset, location, id, type, annRef, dbRef);
 	}
 
-	private static final Pattern MODIFIER_PARSER = Pattern.compile("(?<type>\\S+) Annotation:(?<ann>\\S+)");
-
 	private static void parseModifier(CheckLogger logger, AnnotationSet aset, Location location, String id, String rest) {
-		Matcher m = MODIFIER_PARSER.matcher(rest);
-		if (!m.matches()) {
+		int typeEnd = skipNonWhitespace(rest, 0);
+		int annStart = typeEnd + ANNOTATION_PREFIX.length();
+		if (typeEnd == 0 || !rest.startsWith(ANNOTATION_PREFIX, typeEnd) || annStart == rest.length() || skipNonWhitespace(rest, annStart) != rest.length()) {
 			logger.serious(location, "ill formed modfier, expected type and Annotation");
 			new DummyAnnotation(logger, aset, location, id, getDummyType(rest));
 			return;
 		}
-		String type = m.group("type");
-		String annRef = m.group("ann");
+		String type = rest.substring(0, typeEnd);
+		String annRef = rest.substring(annStart);
 		new Modifier(logger, aset, location, id, type, annRef);
 	}
-	
-	private static final Pattern DUMMY_TYPE_PARSER = Pattern.compile("(?<type>\\S+)\\s*.*");
 
 	private static String getDummyType(String rest) {
-		Matcher m = DUMMY_TYPE_PARSER.matcher(rest);
-		if (m.matches()) {
-			return m.group("type");
+		int typeEnd = skipNonWhitespace(rest, 0);
+		if (typeEnd == 0 || hasLineTerminator(rest, skipWhitespace(rest, typeEnd))) {
+			return DummyAnnotation.DUMMY_TYPE;
+		}
+		return rest.substring(0, typeEnd);
+	}
+
+	/*
+	 * Character classes follow java.util.regex: \s, \d, and line terminators excluded by '.'.
+	 */
+
+	private static boolean isWhitespace(char c) {
+		switch (c) {
+			case ' ':
+			case '\t':
+			case '\n':
+			case '\u000B':
+			case '\f':
+			case '\r':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isLineTerminator(char c) {
+		switch (c) {
+			case '\n':
+			case '\r':
+			case '\u0085':
+			case '\u2028':
+			case '\u2029':
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static int skipWhitespace(String s, int pos) {
+		while (pos < s.length() && isWhitespace(s.charAt(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	private static int skipNonWhitespace(String s, int pos) {
+		while (pos < s.length() && !isWhitespace(s.charAt(pos))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	private static int skipDigits(String s, int pos) {
+		while (pos < s.length()) {
+			char c = s.charAt(pos);
+			if (c < '0' || c > '9') {
+				break;
+			}
+			pos++;
+		}
+		return pos;
+	}
+
+	private static boolean hasLineTerminator(String s, int pos) {
+		for (int i = pos; i < s.length(); ++i) {
+			if (isLineTerminator(s.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int parseInt(String s, int start, int end) {
+		long result = 0;
+		for (int i = start; i < end; ++i) {
+			result = result * 10 + (s.charAt(i) - '0');
+			if (result > Integer.MAX_VALUE) {
+				// let Integer report the overflow
+				return Integer.parseInt(s.substring(start, end));
+			}
 		}
-		return DummyAnnotation.DUMMY_TYPE;
+		return (int) result;
 	}
 }
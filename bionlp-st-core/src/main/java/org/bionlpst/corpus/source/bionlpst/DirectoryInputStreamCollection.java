@@ -3,10 +3,11 @@ package org.bionlpst.corpus.source.bionlpst;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
-public class DirectoryInputStreamCollection implements InputStreamCollection {
+public class DirectoryInputStreamCollection implements RandomAccessInputStreamCollection {
 	private final File directory;
 	
 	public DirectoryInputStreamCollection(File directory) {
@@ -19,54 +20,44 @@ public class DirectoryInputStreamCollection implements InputStreamCollection {
 	}
 
 	@Override
-	public InputStreamIterator getIterator() {
+	public List<String> getEntryNames() {
 		String[] files = directory.list();
-		return new DirectoryInputStreamIterator(files);
+		List<String> result = new ArrayList<String>(files.length);
+		for (String f : files) {
+			result.add(new File(directory, f).getPath());
+		}
+		return result;
 	}
 
 	@Override
-	public String getName() {
-		return directory.getPath();
-	}
-
-	private class DirectoryInputStreamIterator implements InputStreamIterator {
-		private final String[] files;
-		private int currentIndex = -1;
-		private InputStream currentStream = null;
-		
-		private DirectoryInputStreamIterator(String[] files) {
-			super();
-			this.files = files;
-		}
-
-		@Override
-		public void close() throws Exception {
-			closeEntry();
+	public long getSignature() {
+		long result = 0;
+		for (String name : getEntryNames()) {
+			File f = new File(name);
+			result = result * 31 + name.hashCode();
+			result = result * 31 + f.length();
+			result = result * 31 + f.lastModified();
 		}
+		return result;
+	}
 
-		@Override
-		public void closeEntry() throws IOException {
-			if (currentStream != null) {
-				currentStream.close();
-				currentStream = null;
-			}
-		}
+	@Override
+	public InputStream getContents(String name) throws FileNotFoundException {
+		return new FileInputStream(name);
+	}
 
-		@Override
-		public boolean next() {
-			currentIndex++;
-			return currentIndex < files.length;
-		}
+	@Override
+	public InputStreamIterator getIterator(List<String> names) {
+		return new EntryListInputStreamIterator(this, names);
+	}
 
-		@Override
-		public String getName() {
-			return new File(directory, files[currentIndex]).getPath();
-		}
+	@Override
+	public InputStreamIterator getIterator() {
+		return getIterator(getEntryNames());
+	}
 
-		@Override
-		public InputStream getContents() throws FileNotFoundException {
-			currentStream = new FileInputStream(new File(directory, files[currentIndex]));
-			return currentStream;
-		}
+	@Override
+	public String getName() {
+		return directory.getPath();
 	}
 }
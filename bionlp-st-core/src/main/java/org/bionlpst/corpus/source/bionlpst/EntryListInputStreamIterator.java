@@ -0,0 +1,56 @@
+package org.bionlpst.corpus.source.bionlpst;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Iterator over a list of entries of a random access collection. Entries are opened only when their contents are requested.
+ * @author rbossy
+ *
+ */
+class EntryListInputStreamIterator implements InputStreamIterator {
+	private final RandomAccessInputStreamCollection collection;
+	private final List<String> names;
+	private int currentIndex = -1;
+	private InputStream currentStream = null;
+
+	EntryListInputStreamIterator(RandomAccessInputStreamCollection collection, List<String> names) {
+		super();
+		this.collection = collection;
+		this.names = names;
+	}
+
+	@Override
+	public void close() throws IOException {
+		closeEntry();
+	}
+
+	@Override
+	public boolean next() throws IOException {
+		closeEntry();
+		currentIndex++;
+		return currentIndex < names.size();
+	}
+
+	@Override
+	public void closeEntry() throws IOException {
+		if (currentStream != null) {
+			currentStream.close();
+			currentStream = null;
+		}
+	}
+
+	@Override
+	public String getName() {
+		return names.get(currentIndex);
+	}
+
+	@Override
+	public InputStream getContents() throws IOException {
+		if (currentStream == null) {
+			currentStream = collection.getContents(names.get(currentIndex));
+		}
+		return currentStream;
+	}
+}
@@ -0,0 +1,43 @@
+package org.bionlpst.corpus.source.bionlpst;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Input stream collection whose entries can be listed and opened individually, without reading the other entries.
+ * @author rbossy
+ *
+ */
+public interface RandomAccessInputStreamCollection extends InputStreamCollection {
+	/**
+	 * Returns the names of all entries in this collection, as returned by InputStreamIterator.getName().
+	 * @return the names of all entries in this collection.
+	 * @throws IOException
+	 */
+	List<String> getEntryNames() throws IOException;
+
+	/**
+	 * Returns a signature of the entries in this collection. The signature changes whenever an entry is added, removed or modified.
+	 * The signature is meant to be cheaper to compute than reading the entries, implementations may use file sizes and modification times.
+	 * @return a signature of the entries in this collection.
+	 * @throws IOException
+	 */
+	long getSignature() throws IOException;
+
+	/**
+	 * Opens the entry with the specified name.
+	 * @param name entry name, as returned by getEntryNames().
+	 * @return the contents of the specified entry, the caller is responsible for closing the stream.
+	 * @throws IOException if there is no entry with the specified name or the entry cannot be read.
+	 */
+	InputStream getContents(String name) throws IOException;
+
+	/**
+	 * Returns an iterator over the specified entries, in the specified order.
+	 * @param names entry names, as returned by getEntryNames().
+	 * @return an iterator over the specified entries.
+	 * @throws IOException
+	 */
+	InputStreamIterator getIterator(List<String> names) throws IOException;
+}
@@ -1,11 +1,8 @@
 package org.bionlpst.corpus.source.bionlpst;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 
-public class ZipFileInputStreamCollection extends AbstractZipInputStreamCollection {
+public class ZipFileInputStreamCollection extends AbstractZipFileInputStreamCollection {
 	private final File zipFile;
 
 	public ZipFileInputStreamCollection(File zipFile) {
@@ -23,7 +20,7 @@ public class ZipFileInputStreamCollection extends AbstractZipInputStreamCollecti
 	}
 
 	@Override
-	protected InputStream getInputStream() throws IOException {
-		return new FileInputStream(zipFile);
+	protected File getFile() {
+		return zipFile;
 	}
 }
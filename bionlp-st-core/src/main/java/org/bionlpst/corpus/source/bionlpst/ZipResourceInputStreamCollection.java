@@ -1,9 +1,34 @@
 package org.bionlpst.corpus.source.bionlpst;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bionlpst.BioNLPSTException;
+
+/**
+ * Collection of the entries of a ZIP resource.
+ * If the resource is a plain file, then it is read in place, otherwise (e.g. the resource is embedded in a jar) it is copied to a temporary file.
+ * Copies are shared by all collections of the same resource URL, so that closing and reopening a collection does not copy the resource again, they are deleted when the JVM exits.
+ */
+public class ZipResourceInputStreamCollection extends AbstractZipFileInputStreamCollection {
+	private static final Map<String,File> COPIES = new HashMap<String,File>();
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override
+			public void run() {
+				deleteCopies();
+			}
+		});
+	}
 
-public class ZipResourceInputStreamCollection extends AbstractZipInputStreamCollection {
 	private final ClassLoader classLoader;
 	private final String resourceName;
 
@@ -13,12 +38,70 @@ public class ZipResourceInputStreamCollection extends AbstractZipInputStreamColl
 		this.resourceName = resourceName;
 	}
 
+	/**
+	 * Returns a signature computed from the size and the modification time of the resource, the resource is neither opened nor copied.
+	 */
 	@Override
-	protected InputStream getInputStream() throws IOException {
+	public long getSignature() throws IOException {
+		URL url = getURL();
+		if (url.getProtocol().equals("file")) {
+			return super.getSignature();
+		}
+		URLConnection conn = url.openConnection();
+		return conn.getContentLengthLong() * 31 + conn.getLastModified();
+	}
+
+	private URL getURL() throws BioNLPSTException {
+		URL url;
 		if (classLoader == null) {
-			return ClassLoader.getSystemResourceAsStream(resourceName);
+			url = ClassLoader.getSystemResource(resourceName);
+		}
+		else {
+			url = classLoader.getResource(resourceName);
+		}
+		if (url == null) {
+			throw new BioNLPSTException("resource not found: " + resourceName);
+		}
+		return url;
+	}
+
+	@Override
+	protected File getFile() throws IOException {
+		URL url = getURL();
+		if (url.getProtocol().equals("file")) {
+			try {
+				return new File(url.toURI());
+			}
+			catch (URISyntaxException e) {
+				throw new BioNLPSTException(e);
+			}
+		}
+		return getCopy(url);
+	}
+
+	private static synchronized File getCopy(URL url) throws IOException {
+		String key = url.toString();
+		File result = COPIES.get(key);
+		if (result != null && result.exists()) {
+			return result;
+		}
+		result = File.createTempFile("bionlpst-", ".zip");
+		try (InputStream is = url.openStream()) {
+			Files.copy(is, result.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			result.delete();
+			throw e;
+		}
+		COPIES.put(key, result);
+		return result;
+	}
+
+	private static synchronized void deleteCopies() {
+		for (File f : COPIES.values()) {
+			f.delete();
 		}
-		return classLoader.getResourceAsStream(resourceName);
+		COPIES.clear();
 	}
 
 	@Override
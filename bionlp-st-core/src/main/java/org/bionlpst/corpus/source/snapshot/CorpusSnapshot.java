@@ -0,0 +1,394 @@
+package org.bionlpst.corpus.source.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.corpus.Annotation;
+import org.bionlpst.corpus.AnnotationSet;
+import org.bionlpst.corpus.AnnotationSetSelector;
+import org.bionlpst.corpus.AnnotationVisitor;
+import org.bionlpst.corpus.Corpus;
+import org.bionlpst.corpus.Document;
+import org.bionlpst.corpus.DummyAnnotation;
+import org.bionlpst.corpus.Equivalence;
+import org.bionlpst.corpus.Modifier;
+import org.bionlpst.corpus.Normalization;
+import org.bionlpst.corpus.Relation;
+import org.bionlpst.corpus.TextBound;
+import org.bionlpst.util.Location;
+import org.bionlpst.util.fragment.ImmutableFragment;
+import org.bionlpst.util.message.CheckLogger;
+import org.bionlpst.util.message.CheckMessage;
+import org.bionlpst.util.message.CheckMessageLevel;
+
+/**
+ * Binary snapshot of parsed documents, input and reference annotations, equivalences, and parse messages.
+ * References are stored as identifiers and are resolved as usual after predictions are loaded.
+ * Strings are stored once and referenced by index.
+ * @author rbossy
+ *
+ */
+public enum CorpusSnapshot {
+	;
+
+	private static final int MAGIC = 0x424e5353;
+	private static final int VERSION = 1;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final AnnotationSetSelector[] ANNOTATION_SETS = { AnnotationSetSelector.INPUT, AnnotationSetSelector.REFERENCE };
+
+	private static final int TEXT_BOUND = 0;
+	private static final int RELATION = 1;
+	private static final int NORMALIZATION = 2;
+	private static final int MODIFIER = 3;
+	private static final int DUMMY = 4;
+
+	/**
+	 * Writes a snapshot of the specified corpus.
+	 * @param os output stream.
+	 * @param sourceName name of the source from which the corpus was read.
+	 * @param loadOutput either reference annotations were loaded.
+	 * @param signature signature of the source.
+	 * @param corpus corpus.
+	 * @param messages messages issued while reading the corpus.
+	 * @throws IOException
+	 */
+	public static void write(OutputStream os, String sourceName, boolean loadOutput, long signature, Corpus corpus, Collection<CheckMessage> messages) throws IOException {
+		Writer w = new Writer(new DataOutputStream(os));
+		w.out.writeInt(MAGIC);
+		w.out.writeInt(VERSION);
+		w.writeString(sourceName);
+		w.out.writeBoolean(loadOutput);
+		w.out.writeLong(signature);
+		w.writeInt(messages.size());
+		for (CheckMessage msg : messages) {
+			w.writeInt(msg.getLevel().ordinal());
+			w.writeLocation(msg.getLocation());
+			w.writeString(msg.getBody());
+		}
+		Collection<Document> docs = corpus.getDocuments();
+		w.writeInt(docs.size());
+		for (Document doc : docs) {
+			w.writeDocument(doc);
+		}
+		w.out.flush();
+	}
+
+	/**
+	 * Reads a snapshot into a new corpus. Messages stored in the snapshot are added to the specified logger once the whole snapshot is read.
+	 * @param logger message container.
+	 * @param data snapshot contents.
+	 * @param sourceName expected source name.
+	 * @param loadOutput expected reference annotations flag.
+	 * @param signature expected source signature.
+	 * @return the corpus read from the snapshot, or null if the snapshot was written with another version or from another source.
+	 * @throws IOException if the snapshot is truncated.
+	 * @throws BioNLPSTException if the snapshot is corrupted.
+	 */
+	public static Corpus read(CheckLogger logger, byte[] data, String sourceName, boolean loadOutput, long signature) throws IOException, BioNLPSTException {
+		Reader r = new Reader(new DataInputStream(new ByteArrayInputStream(data)));
+		if (r.in.readInt() != MAGIC || r.in.readInt() != VERSION) {
+			return null;
+		}
+		if (!r.readString().equals(sourceName) || r.in.readBoolean() != loadOutput || r.in.readLong() != signature) {
+			return null;
+		}
+		CheckMessageLevel[] levels = CheckMessageLevel.values();
+		int nMessages = r.readInt();
+		List<CheckMessage> messages = new ArrayList<CheckMessage>(nMessages);
+		for (int i = 0; i < nMessages; ++i) {
+			int ordinal = r.readInt();
+			if (ordinal >= levels.length) {
+				throw new BioNLPSTException("corrupted snapshot, unknown message level: " + ordinal);
+			}
+			CheckMessageLevel level = levels[ordinal];
+			Location location = r.readLocation();
+			String body = r.readString();
+			messages.add(new CheckMessage(level, location, body));
+		}
+		Corpus result = new Corpus();
+		int nDocs = r.readInt();
+		for (int i = 0; i < nDocs; ++i) {
+			r.readDocument(result);
+		}
+		for (CheckMessage msg : messages) {
+			logger.addMessage(msg);
+		}
+		return result;
+	}
+
+	private static class Writer implements AnnotationVisitor<Void,Void> {
+		private final DataOutputStream out;
+		private final Map<String,Integer> strings = new HashMap<String,Integer>();
+
+		private Writer(DataOutputStream out) {
+			super();
+			this.out = out;
+		}
+
+		private void writeInt(int n) throws IOException {
+			while ((n & ~0x7f) != 0) {
+				out.writeByte((n & 0x7f) | 0x80);
+				n >>>= 7;
+			}
+			out.writeByte(n);
+		}
+
+		private void writeString(String s) throws IOException {
+			Integer index = strings.get(s);
+			if (index != null) {
+				writeInt(index + 1);
+				return;
+			}
+			strings.put(s, strings.size());
+			writeInt(0);
+			byte[] bytes = s.getBytes(UTF8);
+			writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeLocation(Location location) throws IOException {
+			writeString(location.getSource());
+			writeInt(location.getLineno() + 1);
+		}
+
+		private void writeDocument(Document doc) throws IOException {
+			writeString(doc.getId());
+			writeString(doc.getContents());
+			for (AnnotationSetSelector selector : ANNOTATION_SETS) {
+				AnnotationSet aset = selector.getAnnotationSet(doc);
+				out.writeBoolean(aset.isParsed());
+				Collection<Annotation> annotations = aset.getAnnotations();
+				writeInt(annotations.size());
+				for (Annotation ann : annotations) {
+					ann.accept(this, null);
+				}
+			}
+			Collection<Equivalence> equivalences = doc.getEquivalences();
+			writeInt(equivalences.size());
+			for (Equivalence equiv : equivalences) {
+				writeLocation(equiv.getLocation());
+				Collection<String> refs = equiv.getAnnotationReferences();
+				writeInt(refs.size());
+				for (String ref : refs) {
+					writeString(ref);
+				}
+			}
+		}
+
+		private void writeHeader(int kind, Annotation ann) throws IOException {
+			out.writeByte(kind);
+			writeString(ann.getId());
+			writeString(ann.getType());
+			writeLocation(ann.getLocation());
+		}
+
+		@Override
+		public Void visit(TextBound textBound, Void param) {
+			try {
+				writeHeader(TEXT_BOUND, textBound);
+				List<ImmutableFragment> fragments = textBound.getFragments();
+				writeInt(fragments.size());
+				for (ImmutableFragment frag : fragments) {
+					writeInt(frag.getStart());
+					writeInt(frag.getEnd());
+				}
+			}
+			catch (IOException e) {
+				throw new BioNLPSTException(e);
+			}
+			return null;
+		}
+
+		@Override
+		public Void visit(Relation relation, Void param) {
+			try {
+				writeHeader(RELATION, relation);
+				Map<String,String> args = relation.getArgumentReferences();
+				writeInt(args.size());
+				for (Map.Entry<String,String> e : args.entrySet()) {
+					writeString(e.getKey());
+					writeString(e.getValue());
+				}
+			}
+			catch (IOException e) {
+				throw new BioNLPSTException(e);
+			}
+			return null;
+		}
+
+		@Override
+		public Void visit(Normalization normalization, Void param) {
+			try {
+				writeHeader(NORMALIZATION, normalization);
+				writeString(normalization.getAnnotationReference());
+				writeString(normalization.getReferent());
+				String label = normalization.getLabel();
+				out.writeBoolean(label != null);
+				if (label != null) {
+					writeString(label);
+				}
+			}
+			catch (IOException e) {
+				throw new BioNLPSTException(e);
+			}
+			return null;
+		}
+
+		@Override
+		public Void visit(Modifier modifier, Void param) {
+			try {
+				writeHeader(MODIFIER, modifier);
+				writeString(modifier.getAnnotationReference());
+			}
+			catch (IOException e) {
+				throw new BioNLPSTException(e);
+			}
+			return null;
+		}
+
+		@Override
+		public Void visit(DummyAnnotation dummy, Void param) {
+			try {
+				writeHeader(DUMMY, dummy);
+			}
+			catch (IOException e) {
+				throw new BioNLPSTException(e);
+			}
+			return null;
+		}
+	}
+
+	private static class Reader {
+		private final DataInputStream in;
+		private final List<String> strings = new ArrayList<String>();
+		private final CheckLogger scratch = new CheckLogger();
+
+		private Reader(DataInputStream in) {
+			super();
+			this.in = in;
+		}
+
+		private int readInt() throws IOException {
+			int result = 0;
+			int shift = 0;
+			while (true) {
+				int b = in.readUnsignedByte();
+				result |= (b & 0x7f) << shift;
+				if ((b & 0x80) == 0) {
+					return result;
+				}
+				shift += 7;
+			}
+		}
+
+		private String readString() throws IOException {
+			int index = readInt();
+			if (index > 0) {
+				return strings.get(index - 1);
+			}
+			byte[] bytes = new byte[readInt()];
+			in.readFully(bytes);
+			String result = new String(bytes, UTF8);
+			strings.add(result);
+			return result;
+		}
+
+		private Location readLocation() throws IOException {
+			String source = readString();
+			int lineno = readInt() - 1;
+			return new Location(source, lineno);
+		}
+
+		/*
+		 * Annotations are created with a scratch logger: the messages issued while parsing are stored in the snapshot.
+		 */
+		private void readDocument(Corpus corpus) throws IOException {
+			String id = readString();
+			String contents = readString();
+			Document doc = new Document(corpus, id, contents);
+			for (AnnotationSetSelector selector : ANNOTATION_SETS) {
+				AnnotationSet aset = selector.getAnnotationSet(doc);
+				if (in.readBoolean()) {
+					aset.setParsed();
+				}
+				int nAnnotations = readInt();
+				for (int i = 0; i < nAnnotations; ++i) {
+					readAnnotation(aset);
+				}
+			}
+			int nEquivalences = readInt();
+			for (int i = 0; i < nEquivalences; ++i) {
+				Location location = readLocation();
+				int nRefs = readInt();
+				List<String> refs = new ArrayList<String>(nRefs);
+				for (int j = 0; j < nRefs; ++j) {
+					refs.add(readString());
+				}
+				new Equivalence(scratch, doc, location, refs);
+			}
+		}
+
+		private void readAnnotation(AnnotationSet aset) throws IOException {
+			int kind = in.readByte();
+			String id = readString();
+			String type = readString();
+			Location location = readLocation();
+			switch (kind) {
+				case TEXT_BOUND: {
+					int nFragments = readInt();
+					List<ImmutableFragment> fragments = new ArrayList<ImmutableFragment>(nFragments);
+					for (int i = 0; i < nFragments; ++i) {
+						int start = readInt();
+						int end = readInt();
+						fragments.add(new ImmutableFragment(start, end));
+					}
+					new TextBound(scratch, aset, location, id, type, fragments);
+					break;
+				}
+				case RELATION: {
+					int nArgs = readInt();
+					Map<String,String> args = new LinkedHashMap<String,String>();
+					for (int i = 0; i < nArgs; ++i) {
+						String role = readString();
+						String ref = readString();
+						args.put(role, ref);
+					}
+					new Relation(scratch, aset, location, id, type, args);
+					break;
+				}
+				case NORMALIZATION: {
+					String annRef = readString();
+					String referent = readString();
+					Normalization norm = new Normalization(scratch, aset, location, id, type, annRef, referent);
+					if (in.readBoolean()) {
+						norm.setLabel(readString());
+					}
+					break;
+				}
+				case MODIFIER: {
+					String annRef = readString();
+					new Modifier(scratch, aset, location, id, type, annRef);
+					break;
+				}
+				case DUMMY: {
+					new DummyAnnotation(scratch, aset, location, id, type);
+					break;
+				}
+				default: {
+					throw new BioNLPSTException("corrupted snapshot, unknown annotation kind: " + kind);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package org.bionlpst.corpus.source.snapshot;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.corpus.Corpus;
+import org.bionlpst.corpus.Document;
+import org.bionlpst.corpus.source.ContentAndReferenceSource;
+import org.bionlpst.corpus.source.bionlpst.BioNLPSTSource;
+import org.bionlpst.corpus.source.bionlpst.InputStreamCollection;
+import org.bionlpst.corpus.source.bionlpst.RandomAccessInputStreamCollection;
+import org.bionlpst.util.message.CheckLogger;
+
+/**
+ * Content and reference source that caches the parsed corpus of a BioNLP-ST source as a binary snapshot file.
+ * The snapshot is rebuilt whenever the signature of the source entries changes.
+ * @author rbossy
+ *
+ */
+public class SnapshotCachedSource implements ContentAndReferenceSource {
+	private static final String EXT_SNAPSHOT = ".snapshot";
+
+	private final BioNLPSTSource source;
+	private final RandomAccessInputStreamCollection inputStreamCollection;
+	private final File cacheDir;
+
+	private SnapshotCachedSource(BioNLPSTSource source, RandomAccessInputStreamCollection inputStreamCollection, File cacheDir) {
+		super();
+		this.source = source;
+		this.inputStreamCollection = inputStreamCollection;
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * Wraps the specified source in a snapshot cache.
+	 * @param source source.
+	 * @param cacheDir directory where snapshots are stored.
+	 * @return a cached source if the specified source is a BioNLP-ST source with random access entries, otherwise the specified source.
+	 */
+	public static ContentAndReferenceSource wrap(ContentAndReferenceSource source, File cacheDir) {
+		if (source instanceof BioNLPSTSource) {
+			BioNLPSTSource bionlpstSource = (BioNLPSTSource) source;
+			InputStreamCollection isc = bionlpstSource.getInputStreamCollection();
+			if (isc instanceof RandomAccessInputStreamCollection) {
+				return new SnapshotCachedSource(bionlpstSource, (RandomAccessInputStreamCollection) isc, cacheDir);
+			}
+		}
+		return source;
+	}
+
+	public BioNLPSTSource getSource() {
+		return source;
+	}
+
+	public File getCacheDir() {
+		return cacheDir;
+	}
+
+	@Override
+	public String getName() {
+		return source.getName();
+	}
+
+	/**
+	 * Adds copies of the documents of the snapshot to the specified corpus. The corpus is modified only once the snapshot has been read or rebuilt.
+	 */
+	@Override
+	public void fillContentAndReference(CheckLogger logger, Corpus corpus, boolean loadOutput) throws BioNLPSTException, IOException {
+		Corpus snapshot = fillContentAndReference(logger, loadOutput);
+		for (Document doc : snapshot.getDocuments()) {
+			new Document(corpus, doc);
+		}
+	}
+
+	@Override
+	public Corpus fillContentAndReference(CheckLogger logger, boolean loadOutput) throws BioNLPSTException, IOException {
+		String name = getName();
+		long signature = inputStreamCollection.getSignature();
+		File file = getSnapshotFile(loadOutput);
+		Corpus result = readSnapshot(logger, file, name, loadOutput, signature);
+		if (result != null) {
+			return result;
+		}
+		CheckLogger sourceLogger = new CheckLogger();
+		Corpus sourceCorpus = source.fillContentAndReference(sourceLogger, loadOutput);
+		if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+			throw new BioNLPSTException("could not create snapshot directory: " + cacheDir);
+		}
+		File tmp = File.createTempFile(file.getName(), ".tmp", cacheDir);
+		try {
+			try (OutputStream os = new FileOutputStream(tmp)) {
+				CorpusSnapshot.write(os, name, loadOutput, signature, sourceCorpus, sourceLogger.getMessages());
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			tmp.delete();
+		}
+		logger.addMessages(sourceLogger);
+		return sourceCorpus;
+	}
+
+	/**
+	 * Reads the specified snapshot file. A snapshot that cannot be read is deleted, and treated as if it were from another source.
+	 * @return the corpus read from the snapshot, or null if the snapshot does not exist, is from another source, or cannot be read.
+	 */
+	private static Corpus readSnapshot(CheckLogger logger, File file, String name, boolean loadOutput, long signature) {
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			byte[] data = Files.readAllBytes(file.toPath());
+			return CorpusSnapshot.read(logger, data, name, loadOutput, signature);
+		}
+		catch (IOException|RuntimeException e) {
+			file.delete();
+			return null;
+		}
+	}
+
+	private File getSnapshotFile(boolean loadOutput) {
+		String name = getName().replaceAll("[^A-Za-z0-9._-]", "_");
+		return new File(cacheDir, name + (loadOutput ? ".ref" : ".txt") + EXT_SNAPSHOT);
+	}
+}
@@ -9,12 +9,12 @@ import org.bionlpst.evaluation.similarity.Similarity;
 public enum AggregateFunction {
 	MEAN {
 		@Override
-		public <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions) {
+		public double aggregate(double[] values) {
 			double total = 0;
-			for (T pred : predictions) {
-				total += similarity.compute(reference, pred);
+			for (double s : values) {
+				total += s;
 			}
-			return total / predictions.size();
+			return total / values.length;
 		}
 
 		@Override
@@ -25,11 +25,8 @@ public enum AggregateFunction {
 	
 	MEDIAN {
 		@Override
-		public <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions) {
-			double[] sim = new double[predictions.size()];
-			for (int i = 0; i < sim.length; ++i) {
-				sim[i] = similarity.compute(reference, predictions.get(i));
-			}
+		public double aggregate(double[] values) {
+			double[] sim = Arrays.copyOf(values, values.length);
 			Arrays.sort(sim);
 			return sim[sim.length / 2];
 		}
@@ -42,10 +39,10 @@ public enum AggregateFunction {
 	
 	MIN {
 		@Override
-		public <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions) {
+		public double aggregate(double[] values) {
 			double result = Double.MAX_VALUE;
-			for (T pred : predictions) {
-				result = Math.min(result, similarity.compute(reference, pred));
+			for (double s : values) {
+				result = Math.min(result, s);
 			}
 			return result;
 		}
@@ -58,10 +55,10 @@ public enum AggregateFunction {
 	
 	MAX {
 		@Override
-		public <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions) {
+		public double aggregate(double[] values) {
 			double result = 0;
-			for (T pred : predictions) {
-				result = Math.max(result, similarity.compute(reference, pred));
+			for (double s : values) {
+				result = Math.max(result, s);
 			}
 			return result;
 		}
@@ -73,7 +70,20 @@ public enum AggregateFunction {
 	}
 	;
 	
-	public abstract <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions);
+	/**
+	 * Aggregates the specified similarity values.
+	 * @param values similarity values, not empty.
+	 * @return the aggregate value.
+	 */
+	public abstract double aggregate(double[] values);
+	
+	public <T> double doCompute(Similarity<T> similarity, T reference, List<T> predictions) {
+		double[] values = new double[predictions.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = similarity.compute(reference, predictions.get(i));
+		}
+		return aggregate(values);
+	}
 	
 	public <T> double compute(Similarity<T> similarity, T reference, List<T> predictions) {
 		if (predictions.isEmpty()) {
@@ -82,6 +92,23 @@ public enum AggregateFunction {
 		return doCompute(similarity, reference, predictions);
 	}
 	
+	/**
+	 * Aggregates the similarity values of the specified pairs, using the memoized pair similarity.
+	 * @param similarity similarity.
+	 * @param pairs pairs with both a reference and a predicted item.
+	 * @return the aggregate value, 0 if pairs is empty.
+	 */
+	public <T> double compute(Similarity<T> similarity, List<Pair<T>> pairs) {
+		if (pairs.isEmpty()) {
+			return 0;
+		}
+		double[] values = new double[pairs.size()];
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = pairs.get(i).compute(similarity);
+		}
+		return aggregate(values);
+	}
+	
 	public static AggregateFunction get(String value) {
 		switch (value) {
 			case "mean": return MEAN;
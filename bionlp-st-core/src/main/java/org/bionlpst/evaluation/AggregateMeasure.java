@@ -2,7 +2,7 @@ package org.bionlpst.evaluation;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,18 +31,29 @@ public class AggregateMeasure implements Measure {
 
 	@Override
 	public <T> Number compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-		Map<T,List<T>> pairMap = getPairMap(pairs);
+		Map<T,List<Pair<T>>> pairMap = getPairsMap(pairs);
 		double total = 0;
-		for (Map.Entry<T,List<T>> e : pairMap.entrySet()) {
-			T key = e.getKey();
-			List<T> values = e.getValue();
-			total += aggregateFunction.compute(similarity, key, values);
+		for (List<Pair<T>> values : pairMap.values()) {
+			total += aggregateFunction.compute(similarity, values);
 		}
 		return total / pairMap.size();
 	}
 
+	private <T> Map<T,List<Pair<T>>> getPairsMap(Collection<Pair<T>> pairs) {
+		Map<T,List<Pair<T>>> result = new LinkedHashMap<T,List<Pair<T>>>();
+		for (Pair<T> p : pairs) {
+			if (pairSelector.has(p)) {
+				Collection<Pair<T>> values = ensure(result, pairSelector.get(p));
+				if (pairSelector.hasOther(p)) {
+					values.add(p);
+				}
+			}
+		}
+		return result;
+	}
+
 	public <T> Map<T,List<T>> getPairMap(Collection<Pair<T>> pairs) {
-		Map<T,List<T>> result = new HashMap<T,List<T>>();
+		Map<T,List<T>> result = new LinkedHashMap<T,List<T>>();
 		for (Pair<T> p : pairs) {
 			if (pairSelector.has(p)) {
 				Collection<T> values = ensure(result, pairSelector.get(p));
@@ -54,11 +65,11 @@ public class AggregateMeasure implements Measure {
 		return result;
 	}
 	
-	private static <T> List<T> ensure(Map<T,List<T>> map, T key) {
+	private static <K,V> List<V> ensure(Map<K,List<V>> map, K key) {
 		if (map.containsKey(key)) {
 			return map.get(key);
 		}
-		List<T> result = new ArrayList<T>(2);
+		List<V> result = new ArrayList<V>(2);
 		map.put(key, result);
 		return result;
 	}
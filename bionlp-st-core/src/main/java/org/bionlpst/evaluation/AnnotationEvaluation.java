@@ -3,7 +3,12 @@ package org.bionlpst.evaluation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.bionlpst.BioNLPSTException;
 import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.AnnotationSet;
 import org.bionlpst.corpus.Document;
@@ -59,6 +64,62 @@ public class AnnotationEvaluation extends Evaluation<Annotation> {
 		return result;
 	}
 
+	/**
+	 * Submits the pairing of each document in the specified collection to the specified executor.
+	 * Pre-filters and the pairing algorithm must be safe to use concurrently on different documents.
+	 * @param documentCollection documents.
+	 * @param executor executor.
+	 * @return the pairs of each document, in the order of documents in the collection.
+	 */
+	public List<Future<List<Pair<Annotation>>>> submitPairs(DocumentCollection documentCollection, ExecutorService executor) {
+		List<Future<List<Pair<Annotation>>>> result = new ArrayList<Future<List<Pair<Annotation>>>>();
+		for (final Document doc : documentCollection.getDocuments()) {
+			result.add(executor.submit(new Callable<List<Pair<Annotation>>>() {
+				@Override
+				public List<Pair<Annotation>> call() throws Exception {
+					return getDocumentPairs(doc);
+				}
+			}));
+		}
+		return result;
+	}
+
+	/**
+	 * Waits for document pairs submitted with submitPairs() and concatenates them.
+	 * @param documentPairs pairs of each document.
+	 * @return the concatenation of document pairs.
+	 */
+	public static List<Pair<Annotation>> joinPairs(List<Future<List<Pair<Annotation>>>> documentPairs) {
+		List<Pair<Annotation>> result = new ArrayList<Pair<Annotation>>();
+		try {
+			for (Future<List<Pair<Annotation>>> f : documentPairs) {
+				result.addAll(f.get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioNLPSTException(e);
+		}
+		catch (ExecutionException e) {
+			throw new BioNLPSTException(e.getCause());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the pairs of all documents in the specified collection, documents are paired concurrently.
+	 * The order of pairs is the same as getPairs(documentCollection).
+	 * @param documentCollection documents.
+	 * @param executor executor, if null then documents are paired sequentially.
+	 * @return the pairs of all documents.
+	 */
+	public List<Pair<Annotation>> getPairs(DocumentCollection documentCollection, ExecutorService executor) {
+		if (executor == null) {
+			return getPairs(documentCollection);
+		}
+		return joinPairs(submitPairs(documentCollection, executor));
+	}
+
 	public EvaluationResult<Annotation> getResult(DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap) {
 		return getResult(getPairs(documentCollection), keepPairs, bootstrap);
 	}
@@ -66,4 +127,12 @@ public class AnnotationEvaluation extends Evaluation<Annotation> {
 	public EvaluationResult<Annotation> getMainResult(DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap) {
 		return getMainResult(getPairs(documentCollection), keepPairs, bootstrap);
 	}
+
+	public EvaluationResult<Annotation> getResult(DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap, ExecutorService executor) {
+		return getResult(getPairs(documentCollection, executor), keepPairs, bootstrap);
+	}
+	
+	public EvaluationResult<Annotation> getMainResult(DocumentCollection documentCollection, boolean keepPairs, BootstrapConfig bootstrap, ExecutorService executor) {
+		return getMainResult(getPairs(documentCollection, executor), keepPairs, bootstrap);
+	}
 }
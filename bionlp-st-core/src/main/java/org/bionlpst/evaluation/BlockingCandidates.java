@@ -0,0 +1,93 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bionlpst.evaluation.similarity.BlockingSimilarity;
+import org.bionlpst.evaluation.similarity.Similarity;
+
+/**
+ * Candidate generator that groups items by the blocking key of a blocking similarity.
+ * Candidates for an item are the items with the same key and the items with a null key, in the order of the original collection.
+ * Candidates for an item with a null key are all items.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public class BlockingCandidates<T> implements CandidateGenerator<T> {
+	private final BlockingSimilarity<T> similarity;
+
+	public BlockingCandidates(BlockingSimilarity<T> similarity) {
+		super();
+		this.similarity = similarity;
+	}
+
+	public BlockingSimilarity<T> getSimilarity() {
+		return similarity;
+	}
+
+	/**
+	 * Returns a candidate generator for the specified similarity.
+	 * @param similarity similarity.
+	 * @return a blocking candidate generator if the specified similarity is a blocking similarity, otherwise null.
+	 */
+	public static <T> CandidateGenerator<T> get(Similarity<T> similarity) {
+		if (similarity instanceof BlockingSimilarity) {
+			return new BlockingCandidates<T>((BlockingSimilarity<T>) similarity);
+		}
+		return null;
+	}
+
+	@Override
+	public Candidates<T> getCandidates(Collection<T> prediction) {
+		final List<T> items = new ArrayList<T>(prediction);
+		final Map<Object,List<Integer>> blocks = new HashMap<Object,List<Integer>>();
+		final List<Integer> wildcards = new ArrayList<Integer>();
+		for (int i = 0; i < items.size(); ++i) {
+			Object key = similarity.getBlockingKey(items.get(i));
+			if (key == null) {
+				wildcards.add(i);
+				continue;
+			}
+			List<Integer> block = blocks.get(key);
+			if (block == null) {
+				block = new ArrayList<Integer>();
+				blocks.put(key, block);
+			}
+			block.add(i);
+		}
+		return new Candidates<T>() {
+			@Override
+			public Collection<T> get(T reference) {
+				Object key = similarity.getBlockingKey(reference);
+				if (key == null) {
+					return items;
+				}
+				List<Integer> block = blocks.get(key);
+				if (block == null) {
+					block = Collections.emptyList();
+				}
+				return merge(items, block, wildcards);
+			}
+		};
+	}
+
+	private static <T> List<T> merge(List<T> items, List<Integer> a, List<Integer> b) {
+		List<T> result = new ArrayList<T>(a.size() + b.size());
+		int i = 0;
+		int j = 0;
+		while (i < a.size() || j < b.size()) {
+			if (j == b.size() || (i < a.size() && a.get(i) < b.get(j))) {
+				result.add(items.get(a.get(i++)));
+			}
+			else {
+				result.add(items.get(b.get(j++)));
+			}
+		}
+		return result;
+	}
+}
@@ -3,15 +3,28 @@ package org.bionlpst.evaluation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
 
 public class BootstrapConfig {
 	private final Random random;
 	private final int resamples;
+	private final ExecutorService executor;
 	
-	public BootstrapConfig(Random random, int resamples) {
+	/**
+	 * Creates a bootstrap configuration.
+	 * @param random random generator from which resample seeds are drawn.
+	 * @param resamples number of resamples.
+	 * @param executor executor for computing resamples concurrently, null to compute resamples sequentially.
+	 */
+	public BootstrapConfig(Random random, int resamples, ExecutorService executor) {
 		super();
 		this.random = random;
 		this.resamples = resamples;
+		this.executor = executor;
+	}
+	
+	public BootstrapConfig(Random random, int resamples) {
+		this(random, resamples, null);
 	}
 
 	public Random getRandom() {
@@ -21,6 +34,10 @@ public class BootstrapConfig {
 	public int getResamples() {
 		return resamples;
 	}
+
+	public ExecutorService getExecutor() {
+		return executor;
+	}
 	
 	public <T> List<Pair<T>> resample(List<Pair<T>> pairs, List<Pair<T>> sample) {
 		final int n = pairs.size();
@@ -0,0 +1,155 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.evaluation.similarity.Similarity;
+
+/**
+ * Computes bootstrap resamples of measures over a list of pairs.
+ * Whether each pair has a reference, a prediction, and the similarity between them are computed once.
+ * Count measures are computed from the counts of drawn pairs, other measures are computed on the drawn pairs.
+ * Each resample draws from its own random generator seeded from the bootstrap configuration generator, so results do not depend on the executor.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+class BootstrapResampler<T> {
+	private static final int RESAMPLES_PER_TASK = 16;
+
+	private final Similarity<T> similarity;
+	private final List<Pair<T>> pairs;
+	private final boolean[] hasReference;
+	private final boolean[] hasPrediction;
+	private final double[] similarities;
+
+	BootstrapResampler(Similarity<T> similarity, List<Pair<T>> pairs) {
+		super();
+		this.similarity = similarity;
+		this.pairs = pairs;
+		int n = pairs.size();
+		hasReference = new boolean[n];
+		hasPrediction = new boolean[n];
+		similarities = new double[n];
+		for (int i = 0; i < n; ++i) {
+			Pair<T> p = pairs.get(i);
+			hasReference[i] = p.hasReference();
+			hasPrediction[i] = p.hasPrediction();
+			if (p.hasBoth()) {
+				similarities[i] = p.compute(similarity);
+			}
+		}
+	}
+
+	/**
+	 * Returns the counts of all pairs.
+	 * @return the counts of all pairs.
+	 */
+	PairCounts getCounts() {
+		PairCounts result = new PairCounts();
+		for (int i = 0; i < similarities.length; ++i) {
+			result.add(hasReference[i], hasPrediction[i], similarities[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Computes resamples of the measures of the specified results and adds them to the results.
+	 * @param bootstrap bootstrap configuration.
+	 * @param measureResults measure results.
+	 */
+	void resample(BootstrapConfig bootstrap, List<MeasureResult> measureResults) {
+		final List<Measure> measures = new ArrayList<Measure>(measureResults.size());
+		for (MeasureResult mr : measureResults) {
+			measures.add(mr.getMeasure());
+		}
+		Random random = bootstrap.getRandom();
+		final int resamples = bootstrap.getResamples();
+		final long[] seeds = new long[resamples];
+		for (int i = 0; i < resamples; ++i) {
+			seeds[i] = random.nextLong();
+		}
+		List<Number[]> values;
+		ExecutorService executor = bootstrap.getExecutor();
+		if (executor == null) {
+			values = resample(measures, seeds, 0, resamples);
+		}
+		else {
+			values = new ArrayList<Number[]>(resamples);
+			List<Future<List<Number[]>>> futures = new ArrayList<Future<List<Number[]>>>();
+			for (int start = 0; start < resamples; start += RESAMPLES_PER_TASK) {
+				final int from = start;
+				final int to = Math.min(resamples, start + RESAMPLES_PER_TASK);
+				futures.add(executor.submit(new Callable<List<Number[]>>() {
+					@Override
+					public List<Number[]> call() throws Exception {
+						return resample(measures, seeds, from, to);
+					}
+				}));
+			}
+			try {
+				for (Future<List<Number[]>> f : futures) {
+					values.addAll(f.get());
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new BioNLPSTException(e);
+			}
+			catch (ExecutionException e) {
+				throw new BioNLPSTException(e.getCause());
+			}
+		}
+		for (Number[] v : values) {
+			for (int m = 0; m < v.length; ++m) {
+				measureResults.get(m).addResample(v[m]);
+			}
+		}
+	}
+
+	private List<Number[]> resample(List<Measure> measures, long[] seeds, int from, int to) {
+		int n = pairs.size();
+		int[] draws = new int[n];
+		List<Number[]> result = new ArrayList<Number[]>(to - from);
+		for (int r = from; r < to; ++r) {
+			Random random = new Random(seeds[r]);
+			PairCounts counts = new PairCounts();
+			for (int i = 0; i < n; ++i) {
+				int j = random.nextInt(n);
+				draws[i] = j;
+				counts.add(hasReference[j], hasPrediction[j], similarities[j]);
+			}
+			List<Pair<T>> sample = null;
+			Number[] values = new Number[measures.size()];
+			for (int m = 0; m < values.length; ++m) {
+				Measure measure = measures.get(m);
+				if (measure instanceof CountMeasure) {
+					values[m] = ((CountMeasure) measure).compute(counts);
+				}
+				else {
+					if (sample == null) {
+						sample = getSample(draws);
+					}
+					values[m] = measure.compute(similarity, sample);
+				}
+			}
+			result.add(values);
+		}
+		return result;
+	}
+
+	private List<Pair<T>> getSample(int[] draws) {
+		List<Pair<T>> result = new ArrayList<Pair<T>>(draws.length);
+		for (int j : draws) {
+			result.add(pairs.get(j));
+		}
+		return Collections.unmodifiableList(result);
+	}
+}
@@ -0,0 +1,35 @@
+package org.bionlpst.evaluation;
+
+import java.util.Collection;
+
+/**
+ * A candidate generator restricts the predictions that are compared to each reference during pairing.
+ * Predictions that are not returned as candidates for a reference are assumed to have a similarity of zero with this reference.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public interface CandidateGenerator<T> {
+	/**
+	 * Prepares candidate search among the specified predictions.
+	 * @param prediction predicted items.
+	 * @return an object that returns candidates for each reference.
+	 */
+	Candidates<T> getCandidates(Collection<T> prediction);
+
+	/**
+	 * Candidate predictions for references.
+	 * @author rbossy
+	 *
+	 * @param <T>
+	 */
+	public static interface Candidates<T> {
+		/**
+		 * Returns predictions that may have a positive similarity with the specified reference.
+		 * The result may contain items that are not in the prediction collection, callers must ignore them.
+		 * @param reference reference item.
+		 * @return predictions that may have a positive similarity with the specified reference.
+		 */
+		Collection<T> get(T reference);
+	}
+}
@@ -0,0 +1,272 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.evaluation.similarity.Similarity;
+
+/**
+ * Pairing algorithm that splits the bipartite graph of non-zero similarities into connected components and pairs each component independently with a delegate algorithm.
+ * Similarities are computed once in a pre-pass, the delegate algorithm reads them from a sparse table.
+ * The pairs are the same as the delegate algorithm as long as the delegate never pairs items with a similarity of zero or less.
+ * Pairs are sorted by the index of their reference, then pairs without reference are sorted by the index of their prediction; this is the order of HungarianPairing, other delegates may order pairs differently when applied to the whole graph.
+ * Components can be paired in parallel since the delegate does not call the original similarity, all component pairings with the same parallelism share the same pool.
+ * An optional candidate generator restricts the predictions scored against each reference in the pre-pass, by default candidates are restricted by the blocking keys of the similarity.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public class ComponentPairing<T> implements PairingAlgorithm<T> {
+	private static final Map<Integer,ForkJoinPool> POOLS = new HashMap<Integer,ForkJoinPool>();
+
+	private final PairingAlgorithm<T> delegate;
+	private final int parallelism;
+	private final CandidateGenerator<T> candidateGenerator;
+
+	/**
+	 * Creates a new component pairing.
+	 * @param delegate algorithm used to pair each component.
+	 * @param parallelism number of components paired concurrently, 1 or less for sequential pairing.
+	 * @param candidateGenerator candidate generator, null to use the blocking keys of the similarity.
+	 */
+	public ComponentPairing(PairingAlgorithm<T> delegate, int parallelism, CandidateGenerator<T> candidateGenerator) {
+		super();
+		this.delegate = delegate;
+		this.parallelism = parallelism;
+		this.candidateGenerator = candidateGenerator;
+	}
+
+	/**
+	 * Creates a new component pairing that restricts candidates with the blocking keys of the similarity.
+	 * @param delegate algorithm used to pair each component.
+	 * @param parallelism number of components paired concurrently, 1 or less for sequential pairing.
+	 */
+	public ComponentPairing(PairingAlgorithm<T> delegate, int parallelism) {
+		this(delegate, parallelism, null);
+	}
+
+	public PairingAlgorithm<T> getDelegate() {
+		return delegate;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public CandidateGenerator<T> getCandidateGenerator() {
+		return candidateGenerator;
+	}
+
+	private static synchronized ForkJoinPool getPool(int parallelism) {
+		if (POOLS.containsKey(parallelism)) {
+			return POOLS.get(parallelism);
+		}
+		ForkJoinPool result = new ForkJoinPool(parallelism);
+		POOLS.put(parallelism, result);
+		return result;
+	}
+
+	private static class Component<T> {
+		private final List<T> references = new ArrayList<T>();
+		private final List<T> predictions = new ArrayList<T>();
+	}
+
+	private static class SparseSimilarity<T> implements Similarity<T> {
+		private final Similarity<T> similarity;
+		private final Map<T,Integer> refIndex;
+		private final Map<T,Integer> predIndex;
+		private final Map<Long,Double> scores;
+		private final long nPreds;
+
+		private SparseSimilarity(Similarity<T> similarity, Map<T,Integer> refIndex, Map<T,Integer> predIndex, Map<Long,Double> scores) {
+			super();
+			this.similarity = similarity;
+			this.refIndex = refIndex;
+			this.predIndex = predIndex;
+			this.scores = scores;
+			this.nPreds = predIndex.size();
+		}
+
+		@Override
+		public double compute(T a, T b) {
+			Integer i = refIndex.get(a);
+			Integer j = predIndex.get(b);
+			if (i == null || j == null) {
+				return 0;
+			}
+			Double result = scores.get(i * nPreds + j);
+			if (result == null) {
+				return 0;
+			}
+			return result;
+		}
+
+		@Override
+		public void explain(StringBuilder sb, T a, T b) {
+			similarity.explain(sb, a, b);
+		}
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static void union(int[] parent, int i, int j) {
+		int ri = find(parent, i);
+		int rj = find(parent, j);
+		if (ri < rj) {
+			parent[rj] = ri;
+		}
+		else if (rj < ri) {
+			parent[ri] = rj;
+		}
+	}
+
+	private static <T> void score(Similarity<T> similarity, Map<Long,Double> scores, int[] parent, int nRefs, int nPreds, int i, T ref, int j, T pred) {
+		double s = similarity.compute(ref, pred);
+		if (s > 0) {
+			scores.put(((long) i) * nPreds + j, s);
+			union(parent, i, nRefs + j);
+		}
+	}
+
+	@Override
+	public List<Pair<T>> bestPairing(Collection<T> reference, Collection<T> prediction, Similarity<T> similarity) {
+		List<T> refs = new ArrayList<T>(reference);
+		List<T> preds = new ArrayList<T>(prediction);
+		int nRefs = refs.size();
+		int nPreds = preds.size();
+		Map<T,Integer> refIndex = new IdentityHashMap<T,Integer>();
+		for (int i = 0; i < nRefs; ++i) {
+			refIndex.put(refs.get(i), i);
+		}
+		Map<T,Integer> predIndex = new IdentityHashMap<T,Integer>();
+		for (int j = 0; j < nPreds; ++j) {
+			predIndex.put(preds.get(j), j);
+		}
+
+		// sparse similarity graph, references are nodes [0,nRefs[, predictions are nodes [nRefs,nRefs+nPreds[
+		Map<Long,Double> scores = new HashMap<Long,Double>();
+		int[] parent = new int[nRefs + nPreds];
+		for (int k = 0; k < parent.length; ++k) {
+			parent[k] = k;
+		}
+		CandidateGenerator<T> candidateGenerator = this.candidateGenerator == null ? BlockingCandidates.get(similarity) : this.candidateGenerator;
+		CandidateGenerator.Candidates<T> candidates = candidateGenerator == null ? null : candidateGenerator.getCandidates(preds);
+		for (int i = 0; i < nRefs; ++i) {
+			T ref = refs.get(i);
+			if (candidates == null) {
+				for (int j = 0; j < nPreds; ++j) {
+					score(similarity, scores, parent, nRefs, nPreds, i, ref, j, preds.get(j));
+				}
+			}
+			else {
+				for (T pred : candidates.get(ref)) {
+					Integer j = predIndex.get(pred);
+					if (j != null) {
+						score(similarity, scores, parent, nRefs, nPreds, i, ref, j, pred);
+					}
+				}
+			}
+		}
+
+		// components ordered by their first item, isolated items are gathered in a single component
+		Component<T> isolated = new Component<T>();
+		Map<Integer,Component<T>> componentMap = new HashMap<Integer,Component<T>>();
+		List<Component<T>> components = new ArrayList<Component<T>>();
+		components.add(isolated);
+		int[] size = new int[parent.length];
+		for (int k = 0; k < parent.length; ++k) {
+			size[find(parent, k)]++;
+		}
+		for (int k = 0; k < parent.length; ++k) {
+			int root = find(parent, k);
+			Component<T> comp;
+			if (size[root] == 1) {
+				comp = isolated;
+			}
+			else if (componentMap.containsKey(root)) {
+				comp = componentMap.get(root);
+			}
+			else {
+				comp = new Component<T>();
+				componentMap.put(root, comp);
+				components.add(comp);
+			}
+			if (k < nRefs) {
+				comp.references.add(refs.get(k));
+			}
+			else {
+				comp.predictions.add(preds.get(k - nRefs));
+			}
+		}
+
+		final Similarity<T> sparse = new SparseSimilarity<T>(similarity, refIndex, predIndex, scores);
+		List<Pair<T>> result = new ArrayList<Pair<T>>();
+		if (parallelism <= 1 || components.size() <= 2) {
+			for (Component<T> comp : components) {
+				result.addAll(delegate.bestPairing(comp.references, comp.predictions, sparse));
+			}
+			sortPairs(result, refIndex, predIndex);
+			return result;
+		}
+		List<Callable<List<Pair<T>>>> tasks = new ArrayList<Callable<List<Pair<T>>>>(components.size());
+		for (final Component<T> comp : components) {
+			tasks.add(new Callable<List<Pair<T>>>() {
+				@Override
+				public List<Pair<T>> call() throws Exception {
+					return delegate.bestPairing(comp.references, comp.predictions, sparse);
+				}
+			});
+		}
+		try {
+			for (Future<List<Pair<T>>> f : getPool(parallelism).invokeAll(tasks)) {
+				result.addAll(f.get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioNLPSTException(e);
+		}
+		catch (ExecutionException e) {
+			throw new BioNLPSTException(e.getCause());
+		}
+		sortPairs(result, refIndex, predIndex);
+		return result;
+	}
+
+	/**
+	 * Sorts pairs by reference index, then pairs without reference by prediction index. The sort is stable so pairs with the same reference stay in the delegate order.
+	 */
+	private static <T> void sortPairs(List<Pair<T>> pairs, final Map<T,Integer> refIndex, final Map<T,Integer> predIndex) {
+		final int nRefs = refIndex.size();
+		Collections.sort(pairs, new Comparator<Pair<T>>() {
+			@Override
+			public int compare(Pair<T> o1, Pair<T> o2) {
+				return Integer.compare(getKey(o1), getKey(o2));
+			}
+
+			private int getKey(Pair<T> pair) {
+				if (pair.hasReference()) {
+					return refIndex.get(pair.getReference());
+				}
+				return nRefs + predIndex.get(pair.getPrediction());
+			}
+		});
+	}
+}
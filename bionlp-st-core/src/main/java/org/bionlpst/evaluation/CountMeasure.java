@@ -0,0 +1,11 @@
+package org.bionlpst.evaluation;
+
+/**
+ * A measure that can be computed from pair counts.
+ * For any similarity and pairs, compute(new PairCounts(similarity, pairs)) must be equal to compute(similarity, pairs).
+ * @author rbossy
+ *
+ */
+public interface CountMeasure extends Measure {
+	Number compute(PairCounts counts);
+}
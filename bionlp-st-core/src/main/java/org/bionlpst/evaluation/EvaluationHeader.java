@@ -0,0 +1,51 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bionlpst.util.Named;
+
+/**
+ * Names of an evaluation and of its scorings and measures.
+ * Headers are read from task definitions without creating similarities and filters, so tasks can be listed without loading evaluation resources.
+ * @author rbossy
+ *
+ */
+public class EvaluationHeader implements Named {
+	private final String name;
+	private final List<ScoringHeader> scorings;
+
+	/**
+	 * Creates a new evaluation header.
+	 * @param name evaluation name.
+	 * @param scorings headers of the evaluation scorings.
+	 */
+	public EvaluationHeader(String name, List<ScoringHeader> scorings) {
+		super();
+		this.name = name;
+		this.scorings = new ArrayList<ScoringHeader>(scorings);
+	}
+
+	/**
+	 * Creates the header of the specified evaluation.
+	 * @param eval evaluation.
+	 */
+	public EvaluationHeader(Evaluation<?> eval) {
+		super();
+		this.name = eval.getName();
+		this.scorings = new ArrayList<ScoringHeader>();
+		for (Scoring<?> scoring : eval.getScorings()) {
+			scorings.add(new ScoringHeader(scoring));
+		}
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	public List<ScoringHeader> getScorings() {
+		return Collections.unmodifiableList(scorings);
+	}
+}
@@ -2,8 +2,9 @@ package org.bionlpst.evaluation;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -14,6 +15,7 @@ import org.bionlpst.evaluation.similarity.Similarity;
 /**
  * Heuristic for finding optimal pairs.
  * Because coding the Hungarian algorithm is a pain.
+ * See HungarianPairing for an optimal alternative.
  * @author rbossy
  *
  * @param <T>
@@ -27,7 +29,7 @@ public class HeuristicPairing<T> implements PairingAlgorithm<T> {
 				values = get(score);
 			}
 			else {
-				values = new HashSet<T>();
+				values = new LinkedHashSet<T>();
 				put(score, values);
 			}
 			values.add(value);
@@ -50,7 +52,7 @@ public class HeuristicPairing<T> implements PairingAlgorithm<T> {
 	}
 	
 	@SuppressWarnings("serial")
-	private static class MatchMap<T> extends HashMap<T,Matches<T>> {
+	private static class MatchMap<T> extends LinkedHashMap<T,Matches<T>> {
 		private MatchMap(Collection<T> keys) {
 			for (T k : keys) {
 				put(k, new Matches<T>());
@@ -98,8 +100,10 @@ public class HeuristicPairing<T> implements PairingAlgorithm<T> {
 		// initialize score matrix
 		MatchMap<T> ref2pred = new MatchMap<T>(reference);
 		MatchMap<T> pred2ref = new MatchMap<T>(prediction);
+		CandidateGenerator<T> candidateGenerator = BlockingCandidates.get(similarity);
+		CandidateGenerator.Candidates<T> candidates = candidateGenerator == null ? null : candidateGenerator.getCandidates(prediction);
 		for (T ref : reference) {
-			for (T pred : prediction) {
+			for (T pred : candidates == null ? prediction : candidates.get(ref)) {
 				double s = similarity.compute(ref, pred);
 				if (s > 0) {
 					ref2pred.add(ref, pred, s);
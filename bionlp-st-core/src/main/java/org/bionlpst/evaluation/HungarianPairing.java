@@ -0,0 +1,138 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.bionlpst.evaluation.similarity.Similarity;
+
+/**
+ * Optimal pairing using the Hungarian algorithm (Kuhn-Munkres).
+ * Finds the pairing that maximizes the sum of similarities in O(n^3) where n is the largest of the number of references and predictions.
+ * Only pairs with a strictly positive similarity are matched, other items are paired with null.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public class HungarianPairing<T> implements PairingAlgorithm<T> {
+	public HungarianPairing() {
+		super();
+	}
+
+	@Override
+	public List<Pair<T>> bestPairing(Collection<T> reference, Collection<T> prediction, Similarity<T> similarity) {
+		List<T> refs = new ArrayList<T>(reference);
+		List<T> preds = new ArrayList<T>(prediction);
+		int nRefs = refs.size();
+		int nPreds = preds.size();
+		double[][] scores = new double[nRefs][nPreds];
+		for (int i = 0; i < nRefs; ++i) {
+			T ref = refs.get(i);
+			double[] row = scores[i];
+			for (int j = 0; j < nPreds; ++j) {
+				double s = similarity.compute(ref, preds.get(j));
+				row[j] = s > 0 ? s : 0;
+			}
+		}
+
+		int[] assignment = assign(scores, nRefs, nPreds);
+		List<Pair<T>> result = new ArrayList<Pair<T>>(nRefs + nPreds);
+		boolean[] predSeen = new boolean[nPreds];
+		for (int i = 0; i < nRefs; ++i) {
+			int j = assignment[i];
+			if (j >= 0 && scores[i][j] > 0) {
+				result.add(new Pair<T>(refs.get(i), preds.get(j)));
+				predSeen[j] = true;
+			}
+			else {
+				result.add(new Pair<T>(refs.get(i), null));
+			}
+		}
+		for (int j = 0; j < nPreds; ++j) {
+			if (!predSeen[j]) {
+				result.add(new Pair<T>(null, preds.get(j)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Maximum weight assignment of rows to columns.
+	 * The matrix is implicitly padded with zeros to a square matrix.
+	 * @param scores non-negative scores.
+	 * @param nRows number of rows.
+	 * @param nCols number of columns.
+	 * @return for each row, the index of the assigned column, or -1 if the row is assigned to a padding column.
+	 */
+	static int[] assign(double[][] scores, int nRows, int nCols) {
+		int n = Math.max(nRows, nCols);
+		int[] result = new int[nRows];
+		Arrays.fill(result, -1);
+		if (nRows == 0 || nCols == 0) {
+			return result;
+		}
+		// potentials and matching are 1-based, index 0 is the virtual root
+		double[] u = new double[n + 1];
+		double[] v = new double[n + 1];
+		int[] colMatch = new int[n + 1];
+		int[] way = new int[n + 1];
+		double[] minSlack = new double[n + 1];
+		boolean[] used = new boolean[n + 1];
+		for (int i = 1; i <= n; ++i) {
+			colMatch[0] = i;
+			int j0 = 0;
+			Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+			do {
+				used[j0] = true;
+				int i0 = colMatch[j0];
+				double delta = Double.POSITIVE_INFINITY;
+				int j1 = 0;
+				for (int j = 1; j <= n; ++j) {
+					if (used[j]) {
+						continue;
+					}
+					double cur = cost(scores, nRows, nCols, i0 - 1, j - 1) - u[i0] - v[j];
+					if (cur < minSlack[j]) {
+						minSlack[j] = cur;
+						way[j] = j0;
+					}
+					if (minSlack[j] < delta) {
+						delta = minSlack[j];
+						j1 = j;
+					}
+				}
+				for (int j = 0; j <= n; ++j) {
+					if (used[j]) {
+						u[colMatch[j]] += delta;
+						v[j] -= delta;
+					}
+					else {
+						minSlack[j] -= delta;
+					}
+				}
+				j0 = j1;
+			} while (colMatch[j0] != 0);
+			do {
+				int j1 = way[j0];
+				colMatch[j0] = colMatch[j1];
+				j0 = j1;
+			} while (j0 != 0);
+		}
+		for (int j = 1; j <= nCols; ++j) {
+			int i = colMatch[j] - 1;
+			if (i < nRows) {
+				result[i] = j - 1;
+			}
+		}
+		return result;
+	}
+
+	private static double cost(double[][] scores, int nRows, int nCols, int i, int j) {
+		if (i < nRows && j < nCols) {
+			return -scores[i][j];
+		}
+		return 0;
+	}
+}
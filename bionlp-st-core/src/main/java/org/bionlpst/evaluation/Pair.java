@@ -11,6 +11,8 @@ import org.bionlpst.evaluation.similarity.Similarity;
 public class Pair<T> {
 	private final T reference;
 	private final T prediction;
+	private Similarity<T>[] cachedSimilarities = null;
+	private double[] cachedValues = null;
 	
 	/**
 	 * Creates a new pair.
@@ -69,11 +71,30 @@ public class Pair<T> {
 	
 	/**
 	 * Compute the similarity between the reference and the predicted items.
+	 * The value is memoized in this pair: the similarity is computed once even if the pair is scored by several measures, scorings or writers.
 	 * @param similarity
 	 * @return the similarity between the reference and the predicted items.
 	 */
-	public double compute(Similarity<T> similarity) {
-		return similarity.compute(reference, prediction);
+	public synchronized double compute(Similarity<T> similarity) {
+		int n = cachedSimilarities == null ? 0 : cachedSimilarities.length;
+		for (int i = 0; i < n; ++i) {
+			if (cachedSimilarities[i] == similarity) {
+				return cachedValues[i];
+			}
+		}
+		double result = similarity.compute(reference, prediction);
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Similarity<T>[] similarities = new Similarity[n + 1];
+		double[] values = new double[n + 1];
+		if (n > 0) {
+			System.arraycopy(cachedSimilarities, 0, similarities, 0, n);
+			System.arraycopy(cachedValues, 0, values, 0, n);
+		}
+		similarities[n] = similarity;
+		values[n] = result;
+		cachedSimilarities = similarities;
+		cachedValues = values;
+		return result;
 	}
 	
 	public void explain(StringBuilder sb, Similarity<T> similarity) {
@@ -0,0 +1,95 @@
+package org.bionlpst.evaluation;
+
+import java.util.Collection;
+
+import org.bionlpst.evaluation.similarity.Similarity;
+
+/**
+ * Counts of references, predictions and matches in a pairing.
+ * Standard measures are computed from these counts.
+ * @author rbossy
+ *
+ */
+public class PairCounts {
+	private long references = 0;
+	private long predictions = 0;
+	private long falsePositives = 0;
+	private long falseNegatives = 0;
+	private double matches = 0;
+	private double mismatches = 0;
+
+	public PairCounts() {
+		super();
+	}
+
+	/**
+	 * Counts the specified pairs.
+	 * @param similarity similarity between reference and predicted items.
+	 * @param pairs pairs.
+	 */
+	public <T> PairCounts(Similarity<T> similarity, Collection<Pair<T>> pairs) {
+		this();
+		for (Pair<T> p : pairs) {
+			add(p, similarity);
+		}
+	}
+
+	/**
+	 * Adds a pair to the counts.
+	 * @param pair pair.
+	 * @param similarity similarity between reference and predicted items.
+	 */
+	public <T> void add(Pair<T> pair, Similarity<T> similarity) {
+		add(pair.hasReference(), pair.hasPrediction(), pair.hasBoth() ? pair.compute(similarity) : 0);
+	}
+
+	/**
+	 * Adds a pair to the counts.
+	 * @param hasReference either the pair has a reference item.
+	 * @param hasPrediction either the pair has a predicted item.
+	 * @param similarity similarity between the reference and predicted items, ignored if the pair does not have both.
+	 */
+	public void add(boolean hasReference, boolean hasPrediction, double similarity) {
+		if (hasReference) {
+			references++;
+			if (hasPrediction) {
+				predictions++;
+				matches += similarity;
+				mismatches += 1 - similarity;
+			}
+			else {
+				falseNegatives++;
+			}
+		}
+		else {
+			falsePositives++;
+			if (hasPrediction) {
+				predictions++;
+			}
+		}
+	}
+
+	public long getReferences() {
+		return references;
+	}
+
+	public long getPredictions() {
+		return predictions;
+	}
+
+	public long getFalsePositives() {
+		return falsePositives;
+	}
+
+	public long getFalseNegatives() {
+		return falseNegatives;
+	}
+
+	public double getMatches() {
+		return matches;
+	}
+
+	public double getMismatches() {
+		return mismatches;
+	}
+}
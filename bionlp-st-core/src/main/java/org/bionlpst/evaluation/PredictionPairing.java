@@ -28,8 +28,10 @@ public class PredictionPairing<T> implements PairingAlgorithm<T> {
 	@Override
 	public List<Pair<T>> bestPairing(Collection<T> reference, Collection<T> prediction, Similarity<T> similarity) {
 		List<Pair<T>> result = new ArrayList<Pair<T>>();
+		CandidateGenerator<T> candidateGenerator = threshold < 0 ? null : BlockingCandidates.get(similarity);
+		CandidateGenerator.Candidates<T> candidates = candidateGenerator == null ? null : candidateGenerator.getCandidates(prediction);
 		for (T ref : reference) {
-			T pred = getBest(similarity, ref, prediction);
+			T pred = getBest(similarity, ref, candidates == null ? prediction : candidates.get(ref));
 			Pair<T> p = new Pair<T>(ref, pred);
 			result.add(p);
 		}
@@ -28,8 +28,10 @@ public class ReferencePairing<T> implements PairingAlgorithm<T> {
 	@Override
 	public List<Pair<T>> bestPairing(Collection<T> reference, Collection<T> prediction, Similarity<T> similarity) {
 		List<Pair<T>> result = new ArrayList<Pair<T>>();
+		CandidateGenerator<T> candidateGenerator = threshold < 0 ? null : BlockingCandidates.get(similarity);
+		CandidateGenerator.Candidates<T> candidates = candidateGenerator == null ? null : candidateGenerator.getCandidates(reference);
 		for (T pred : prediction) {
-			T ref = getBest(similarity, pred, reference);
+			T ref = getBest(similarity, pred, candidates == null ? reference : candidates.get(pred));
 			Pair<T> p = new Pair<T>(ref, pred);
 			result.add(p);
 		}
@@ -66,32 +66,34 @@ public class Scoring<T> {
 
 	@Deprecated
 	public ScoringResult<T> getResult(Collection<Pair<T>> pairs) {
-		List<Pair<T>> filtered = Util.filter(postFilter, pairs);
-		List<MeasureResult> measureResults = new ArrayList<MeasureResult>(measures.size());
-		for (Measure m : measures) {
-			Number n = m.compute(similarity, filtered);
-			measureResults.add(new MeasureResult(m, n));
-		}
-		return new ScoringResult<T>(this, measureResults);
+		return getResult(pairs, null);
 	}
 
 	public ScoringResult<T> getResult(Collection<Pair<T>> pairs, BootstrapConfig bootstrap) {
 		List<Pair<T>> filtered = Util.filter(postFilter, pairs);
+		BootstrapResampler<T> resampler = null;
+		PairCounts counts = null;
+		if (bootstrap != null) {
+			resampler = new BootstrapResampler<T>(similarity, filtered);
+			counts = resampler.getCounts();
+		}
 		List<MeasureResult> measureResults = new ArrayList<MeasureResult>(measures.size());
 		for (Measure m : measures) {
-			Number n = m.compute(similarity, filtered);
-			measureResults.add(new MeasureResult(m, n));
-		}
-		if (bootstrap != null) {
-			List<Pair<T>> sample = new ArrayList<Pair<T>>(filtered.size());
-			for (int i = 0; i < bootstrap.getResamples(); ++i) {
-				bootstrap.resample(filtered, sample);
-				for (MeasureResult mr : measureResults) {
-					Measure m = mr.getMeasure();
-					Number n = m.compute(similarity, sample);
-					mr.addResample(n);
+			Number n;
+			if (m instanceof CountMeasure) {
+				// count measures share a single pass on pairs
+				if (counts == null) {
+					counts = new PairCounts(similarity, filtered);
 				}
+				n = ((CountMeasure) m).compute(counts);
 			}
+			else {
+				n = m.compute(similarity, filtered);
+			}
+			measureResults.add(new MeasureResult(m, n));
+		}
+		if (resampler != null) {
+			resampler.resample(bootstrap, measureResults);
 		}
 		return new ScoringResult<T>(this, measureResults);
 	}
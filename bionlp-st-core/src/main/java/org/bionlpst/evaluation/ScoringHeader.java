@@ -0,0 +1,46 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.bionlpst.util.Named;
+
+/**
+ * Name and measures of a scoring.
+ * @author rbossy
+ *
+ */
+public class ScoringHeader implements Named {
+	private final String name;
+	private final List<Measure> measures;
+
+	/**
+	 * Creates a new scoring header.
+	 * @param name scoring name.
+	 * @param measures scoring measures.
+	 */
+	public ScoringHeader(String name, Collection<Measure> measures) {
+		super();
+		this.name = name;
+		this.measures = new ArrayList<Measure>(measures);
+	}
+
+	/**
+	 * Creates the header of the specified scoring.
+	 * @param scoring scoring.
+	 */
+	public ScoringHeader(Scoring<?> scoring) {
+		this(scoring.getName(), scoring.getMeasures());
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	public List<Measure> getMeasures() {
+		return Collections.unmodifiableList(measures);
+	}
+}
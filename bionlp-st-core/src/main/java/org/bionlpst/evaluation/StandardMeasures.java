@@ -5,7 +5,7 @@ import java.util.Collection;
 
 import org.bionlpst.evaluation.similarity.Similarity;
 
-public enum StandardMeasures implements Measure {
+public enum StandardMeasures implements CountMeasure {
 	/**
 	 * Counts the number of reference items.
 	 */
@@ -21,6 +21,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Long compute(PairCounts counts) {
+			return counts.getReferences();
+		}
+
 		@Override
 		public String getName() {
 			return "References";
@@ -47,6 +52,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Long compute(PairCounts counts) {
+			return counts.getPredictions();
+		}
+
 		@Override
 		public String getName() {
 			return "Predictions";
@@ -74,6 +84,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Double compute(PairCounts counts) {
+			return counts.getMatches();
+		}
+
 		@Override
 		public String getName() {
 			return "Matches";
@@ -100,6 +115,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Double compute(PairCounts counts) {
+			return counts.getMismatches();
+		}
+
 		@Override
 		public String getName() {
 			return "Mismatches";
@@ -127,6 +147,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Long compute(PairCounts counts) {
+			return counts.getFalsePositives();
+		}
+
 		@Override
 		public String getName() {
 			return "False Positives";
@@ -154,6 +179,11 @@ public enum StandardMeasures implements Measure {
 			return result;
 		}
 
+		@Override
+		public Long compute(PairCounts counts) {
+			return counts.getFalseNegatives();
+		}
+
 		@Override
 		public String getName() {
 			return "False Negatives";
@@ -175,6 +205,11 @@ public enum StandardMeasures implements Measure {
 			return FALSE_POSITIVES.compute(similarity, pairs);
 		}
 
+		@Override
+		public Number compute(PairCounts counts) {
+			return FALSE_POSITIVES.compute(counts);
+		}
+
 		@Override
 		public String getName() {
 			return "Insertions";
@@ -195,6 +230,11 @@ public enum StandardMeasures implements Measure {
 			return FALSE_NEGATIVES.compute(similarity, pairs);
 		}
 
+		@Override
+		public Number compute(PairCounts counts) {
+			return FALSE_NEGATIVES.compute(counts);
+		}
+
 		@Override
 		public String getName() {
 			return "Deletions";
@@ -215,6 +255,11 @@ public enum StandardMeasures implements Measure {
 			return MISMATCHES.compute(similarity, pairs);
 		}
 
+		@Override
+		public Number compute(PairCounts counts) {
+			return MISMATCHES.compute(counts);
+		}
+
 		@Override
 		public String getName() {
 			return "Substitutions";
@@ -232,8 +277,13 @@ public enum StandardMeasures implements Measure {
 	RECALL {
 		@Override
 		public <T> Double compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-			double matches = MATCHES.compute(similarity, pairs).doubleValue();
-			long references = REFERENCES.compute(similarity, pairs).longValue();
+			return compute(new PairCounts(similarity, pairs));
+		}
+
+		@Override
+		public Double compute(PairCounts counts) {
+			double matches = MATCHES.compute(counts).doubleValue();
+			long references = REFERENCES.compute(counts).longValue();
 			return matches / references;
 		}
 
@@ -254,8 +304,13 @@ public enum StandardMeasures implements Measure {
 	PRECISION {
 		@Override
 		public <T> Number compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-			double matches = MATCHES.compute(similarity, pairs).doubleValue();
-			long predictions = PREDICTIONS.compute(similarity, pairs).longValue();
+			return compute(new PairCounts(similarity, pairs));
+		}
+
+		@Override
+		public Number compute(PairCounts counts) {
+			double matches = MATCHES.compute(counts).doubleValue();
+			long predictions = PREDICTIONS.compute(counts).longValue();
 			return matches / predictions;
 		}
 
@@ -276,10 +331,15 @@ public enum StandardMeasures implements Measure {
 	SLOT_ERROR_RATE {
 		@Override
 		public <T> Number compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-			double substitutions = SUBSTITUTIONS.compute(similarity, pairs).longValue();
-			long insertions = INSERTIONS.compute(similarity, pairs).longValue();
-			long deletions = DELETIONS.compute(similarity, pairs).longValue();
-			long references = REFERENCES.compute(similarity, pairs).longValue();
+			return compute(new PairCounts(similarity, pairs));
+		}
+
+		@Override
+		public Number compute(PairCounts counts) {
+			double substitutions = SUBSTITUTIONS.compute(counts).longValue();
+			long insertions = INSERTIONS.compute(counts).longValue();
+			long deletions = DELETIONS.compute(counts).longValue();
+			long references = REFERENCES.compute(counts).longValue();
 			return (substitutions + insertions + deletions) / references;
 		}
 
@@ -300,7 +360,12 @@ public enum StandardMeasures implements Measure {
 	INVERTED_SLOT_ERROR_RATE {
 		@Override
 		public <T> Number compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-			double ser = SLOT_ERROR_RATE.compute(similarity, pairs).doubleValue();
+			return compute(new PairCounts(similarity, pairs));
+		}
+
+		@Override
+		public Number compute(PairCounts counts) {
+			double ser = SLOT_ERROR_RATE.compute(counts).doubleValue();
 			return 1.0 / (ser + 1);
 		}
 
@@ -321,8 +386,13 @@ public enum StandardMeasures implements Measure {
 	F1_SCORE {
 		@Override
 		public <T> Number compute(Similarity<T> similarity, Collection<Pair<T>> pairs) {
-			double recall = RECALL.compute(similarity, pairs).doubleValue();
-			double precision = PRECISION.compute(similarity, pairs).doubleValue();
+			return compute(new PairCounts(similarity, pairs));
+		}
+
+		@Override
+		public Number compute(PairCounts counts) {
+			double recall = RECALL.compute(counts).doubleValue();
+			double precision = PRECISION.compute(counts).doubleValue();
 			return 2 * ((recall * precision) / (recall + precision));
 		}
 
@@ -0,0 +1,59 @@
+package org.bionlpst.evaluation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.bionlpst.corpus.Annotation;
+import org.bionlpst.corpus.AnnotationSet;
+import org.bionlpst.corpus.TextBound;
+import org.bionlpst.util.fragment.FragmentIndex;
+import org.bionlpst.util.fragment.ImmutableFragment;
+
+/**
+ * Candidate generator for similarities that are zero between text-bound annotations that do not overlap.
+ * Candidates for a text-bound reference are the overlapping text-bound predictions, found with the text-bound index of the prediction annotation sets, and all predictions that are not text-bounds.
+ * Candidates for other references are all predictions.
+ * @author rbossy
+ *
+ */
+public enum TextBoundOverlapCandidates implements CandidateGenerator<Annotation> {
+	INSTANCE;
+
+	@Override
+	public Candidates<Annotation> getCandidates(final Collection<Annotation> prediction) {
+		Map<AnnotationSet,Boolean> asetMap = new IdentityHashMap<AnnotationSet,Boolean>();
+		final List<FragmentIndex<TextBound>> indexes = new ArrayList<FragmentIndex<TextBound>>();
+		final List<Annotation> others = new ArrayList<Annotation>();
+		for (Annotation pred : prediction) {
+			if (pred.asTextBound() == null) {
+				others.add(pred);
+				continue;
+			}
+			AnnotationSet aset = pred.getAnnotationSet();
+			if (!asetMap.containsKey(aset)) {
+				asetMap.put(aset, true);
+				indexes.add(aset.getTextBoundIndex());
+			}
+		}
+		return new Candidates<Annotation>() {
+			@Override
+			public Collection<Annotation> get(Annotation reference) {
+				TextBound tb = reference.asTextBound();
+				if (tb == null) {
+					return prediction;
+				}
+				Collection<Annotation> result = new LinkedHashSet<Annotation>(others);
+				for (FragmentIndex<TextBound> index : indexes) {
+					for (ImmutableFragment frag : tb.getFragments()) {
+						index.collectOverlapping(frag, result);
+					}
+				}
+				return result;
+			}
+		};
+	}
+}
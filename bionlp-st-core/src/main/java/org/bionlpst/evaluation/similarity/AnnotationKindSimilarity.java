@@ -8,7 +8,7 @@ import org.bionlpst.corpus.Annotation;
  *
  * @param <T>
  */
-public enum AnnotationKindSimilarity implements Similarity<Annotation> {
+public enum AnnotationKindSimilarity implements BlockingSimilarity<Annotation> {
 	INSTANCE;
 	
 	@Override
@@ -19,6 +19,11 @@ public enum AnnotationKindSimilarity implements Similarity<Annotation> {
 		return 0;
 	}
 
+	@Override
+	public Object getBlockingKey(Annotation item) {
+		return item.getKind();
+	}
+
 	@Override
 	public void explain(StringBuilder sb, Annotation a, Annotation b) {
 		sb.append(a.getKind());
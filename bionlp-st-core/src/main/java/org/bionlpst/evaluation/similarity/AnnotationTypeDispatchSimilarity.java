@@ -11,7 +11,7 @@ import org.bionlpst.corpus.Annotation;
  *
  * @param <T>
  */
-public class AnnotationTypeDispatchSimilarity<T extends Annotation> implements Similarity<T> {
+public class AnnotationTypeDispatchSimilarity<T extends Annotation> implements BlockingSimilarity<T> {
 	private final Map<String,Similarity<T>> similarities = new HashMap<String,Similarity<T>>();
 	private final Similarity<T> defaultSimilarity;
 	private final Similarity<T> differentSimilarity;
@@ -42,6 +42,18 @@ public class AnnotationTypeDispatchSimilarity<T extends Annotation> implements S
 		return differentSimilarity.compute(a, b);
 	}
 
+	/**
+	 * Returns the type if annotations of different types have a zero similarity.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object getBlockingKey(T item) {
+		if (differentSimilarity instanceof ConstantSimilarity && ((ConstantSimilarity<T>) differentSimilarity).getValue() <= 0) {
+			return item.getType();
+		}
+		return null;
+	}
+
 	@Override
 	public void explain(StringBuilder sb, T a, T b) {
 		String tA = a.getType();
@@ -13,7 +13,7 @@ import org.bionlpst.util.Util;
  *
  * @param <T>
  */
-public class AnnotationTypeSimilarity<T extends Annotation> implements Similarity<T> {
+public class AnnotationTypeSimilarity<T extends Annotation> implements BlockingSimilarity<T> {
 	private final Similarity<String> typeSimilarity;
 
 	public AnnotationTypeSimilarity(Similarity<String> typeSimilarity) {
@@ -42,6 +42,18 @@ public class AnnotationTypeSimilarity<T extends Annotation> implements Similarit
 		return typeSimilarity.compute(tA, tB);
 	}
 	
+	/**
+	 * Returns the type if annotations of different types have a zero similarity.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object getBlockingKey(T item) {
+		if (typeSimilarity instanceof ConstantSimilarity && ((ConstantSimilarity<String>) typeSimilarity).getValue() <= 0) {
+			return item.getType();
+		}
+		return null;
+	}
+	
 	private static class TypePairValue extends Pair<String> {
 		private final double value;
 
@@ -0,0 +1,19 @@
+package org.bionlpst.evaluation.similarity;
+
+/**
+ * A blocking similarity publishes a key for each item so that pairing algorithms can skip pairs that have a zero similarity.
+ * If two items have non-null keys that are not equal, then the similarity between them must be zero.
+ * A null key means that the item may have a positive similarity with any item.
+ * Keys must be computed the same way for references and predictions.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public interface BlockingSimilarity<T> extends Similarity<T> {
+	/**
+	 * Returns the blocking key of the specified item.
+	 * @param item item.
+	 * @return the blocking key of the specified item, or null if the item cannot be blocked.
+	 */
+	Object getBlockingKey(T item);
+}
@@ -3,6 +3,7 @@ package org.bionlpst.evaluation.similarity;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 public abstract class CompositeSimilarity<T> implements Similarity<T> {
 	private final Collection<Similarity<T>> similarities = new ArrayList<Similarity<T>>();
@@ -24,6 +25,57 @@ public abstract class CompositeSimilarity<T> implements Similarity<T> {
 		return Collections.unmodifiableCollection(similarities);
 	}
 	
+	/**
+	 * Returns a blocking key for similarities that yield zero whenever one of the components yields zero.
+	 * The key combines the keys of all components that are blocking similarities.
+	 * @param item item.
+	 * @return a blocking key, or null if a component yields a null key or if no component is a blocking similarity.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Object getConjunctionBlockingKey(T item) {
+		List<Object> result = new ArrayList<Object>(similarities.size());
+		for (Similarity<T> sim : similarities) {
+			if (sim instanceof BlockingSimilarity) {
+				Object key = ((BlockingSimilarity<T>) sim).getBlockingKey(item);
+				if (key == null) {
+					return null;
+				}
+				result.add(key);
+			}
+		}
+		switch (result.size()) {
+			case 0: return null;
+			case 1: return result.get(0);
+			default: return result;
+		}
+	}
+
+	/**
+	 * Returns a blocking key for similarities that yield zero only if all components yield zero.
+	 * @param item item.
+	 * @return the key shared by all components, or null if a component is not a blocking similarity or if components yield different keys.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Object getDisjunctionBlockingKey(T item) {
+		Object result = null;
+		for (Similarity<T> sim : similarities) {
+			if (!(sim instanceof BlockingSimilarity)) {
+				return null;
+			}
+			Object key = ((BlockingSimilarity<T>) sim).getBlockingKey(item);
+			if (key == null) {
+				return null;
+			}
+			if (result == null) {
+				result = key;
+			}
+			else if (!result.equals(key)) {
+				return null;
+			}
+		}
+		return result;
+	}
+
 	protected void explainSimilarities(StringBuilder sb, T a, T b, String sep) {
 		boolean first = true;
 		for (Similarity<T> sim : similarities) {
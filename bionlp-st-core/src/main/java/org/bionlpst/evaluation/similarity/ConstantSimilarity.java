@@ -21,6 +21,10 @@ public class ConstantSimilarity<T> implements Similarity<T> {
 		this(1);
 	}
 
+	public double getValue() {
+		return value;
+	}
+
 	@Override
 	public double compute(T a, T b) {
 		return value;
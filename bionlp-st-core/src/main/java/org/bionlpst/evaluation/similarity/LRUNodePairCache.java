@@ -0,0 +1,115 @@
+package org.bionlpst.evaluation.similarity;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded node pair cache that evicts the least recently used entries.
+ * The cache is split into segments locked independently, each segment holds at most its share of the capacity.
+ * @author rbossy
+ *
+ */
+public class LRUNodePairCache implements NodePairCache {
+	public static final int DEFAULT_CAPACITY = 100000;
+	private static final int SEGMENTS = 16;
+	
+	private final Segment[] segments;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	public LRUNodePairCache(int capacity) {
+		super();
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		int nSegments = Math.min(SEGMENTS, capacity);
+		segments = new Segment[nSegments];
+		for (int i = 0; i < nSegments; ++i) {
+			segments[i] = new Segment(capacity / nSegments + (i < capacity % nSegments ? 1 : 0));
+		}
+	}
+
+	public LRUNodePairCache() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	private Segment getSegment(long key) {
+		long h = key * 0x9e3779b97f4a7c15L;
+		return segments[(int) ((h >>> 32) % segments.length)];
+	}
+
+	@Override
+	public double get(long key) {
+		Segment segment = getSegment(key);
+		Double result;
+		synchronized (segment) {
+			result = segment.get(key);
+		}
+		if (result == null) {
+			misses.incrementAndGet();
+			return Double.NaN;
+		}
+		hits.incrementAndGet();
+		return result;
+	}
+
+	@Override
+	public void put(long key, double value) {
+		Segment segment = getSegment(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	@Override
+	public int size() {
+		int result = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				result += segment.size();
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public long getHits() {
+		return hits.get();
+	}
+
+	@Override
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	@Override
+	public String toString() {
+		return "size = " + size() + ", hits = " + hits.get() + ", misses = " + misses.get() + ", evictions = " + evictions.get();
+	}
+
+	@SuppressWarnings("serial")
+	private class Segment extends LinkedHashMap<Long,Double> {
+		private final int capacity;
+
+		private Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long,Double> eldest) {
+			if (size() > capacity) {
+				evictions.incrementAndGet();
+				return true;
+			}
+			return false;
+		}
+	}
+}
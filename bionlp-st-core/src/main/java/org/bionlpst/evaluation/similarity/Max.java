@@ -2,7 +2,7 @@ package org.bionlpst.evaluation.similarity;
 
 import java.util.Collection;
 
-public class Max<T> extends CompositeSimilarity<T> {
+public class Max<T> extends CompositeSimilarity<T> implements BlockingSimilarity<T> {
 	public Max() {
 		super();
 	}
@@ -24,6 +24,11 @@ public class Max<T> extends CompositeSimilarity<T> {
 		return result;
 	}
 
+	@Override
+	public Object getBlockingKey(T item) {
+		return getDisjunctionBlockingKey(item);
+	}
+
 	@Override
 	public void explain(StringBuilder sb, T a, T b) {
 		sb.append("MAX(");
@@ -2,7 +2,7 @@ package org.bionlpst.evaluation.similarity;
 
 import java.util.Collection;
 
-public class Min<T> extends CompositeSimilarity<T> {
+public class Min<T> extends CompositeSimilarity<T> implements BlockingSimilarity<T> {
 	public Min() {
 		super();
 	}
@@ -24,6 +24,11 @@ public class Min<T> extends CompositeSimilarity<T> {
 		return result;
 	}
 
+	@Override
+	public Object getBlockingKey(T item) {
+		return getConjunctionBlockingKey(item);
+	}
+
 	@Override
 	public void explain(StringBuilder sb, T a, T b) {
 		sb.append("(");
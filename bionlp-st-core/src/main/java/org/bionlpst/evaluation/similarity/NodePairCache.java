@@ -0,0 +1,31 @@
+package org.bionlpst.evaluation.similarity;
+
+/**
+ * Thread-safe cache of values for pairs of ontology nodes.
+ * Pairs are packed into a long key with {@link WangOntologyIndex#pack(int, int)}.
+ * @author rbossy
+ *
+ */
+public interface NodePairCache {
+	/**
+	 * Returns the cached value for the specified key.
+	 * @param key packed node pair.
+	 * @return the cached value, or NaN if the key is not in this cache.
+	 */
+	double get(long key);
+
+	/**
+	 * Stores a value for the specified key.
+	 * @param key packed node pair.
+	 * @param value value.
+	 */
+	void put(long key, double value);
+
+	int size();
+
+	long getHits();
+
+	long getMisses();
+
+	long getEvictions();
+}
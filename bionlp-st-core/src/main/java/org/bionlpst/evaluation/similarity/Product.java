@@ -8,7 +8,7 @@ import java.util.Collection;
  *
  * @param <T>
  */
-public class Product<T> extends CompositeSimilarity<T> {
+public class Product<T> extends CompositeSimilarity<T> implements BlockingSimilarity<T> {
 	public Product() {
 		super();
 	}
@@ -30,6 +30,11 @@ public class Product<T> extends CompositeSimilarity<T> {
 		return result;
 	}
 
+	@Override
+	public Object getBlockingKey(T item) {
+		return getConjunctionBlockingKey(item);
+	}
+
 	@Override
 	public void explain(StringBuilder sb, T a, T b) {
 		sb.append('(');
@@ -13,7 +13,7 @@ import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.Relation;
 import org.bionlpst.util.Util;
 
-public class SameTypeAndArgumentsSimilarity implements Similarity<Annotation> {
+public class SameTypeAndArgumentsSimilarity implements BlockingSimilarity<Annotation> {
 	private final Collection<String> commutativeTypes;
 	private final boolean resolveEquivalences;
 	private final Map<String,TypeConversion> typeConversion;
@@ -116,6 +116,15 @@ public class SameTypeAndArgumentsSimilarity implements Similarity<Annotation> {
 		return 0;
 	}
 	
+	/**
+	 * Returns the converted type.
+	 */
+	@Override
+	public Object getBlockingKey(Annotation item) {
+		String type = item.getType();
+		return convertType(typeConversion.get(type), type);
+	}
+	
 	private boolean sameArguments(Relation ar, Relation br, TypeConversion aConversion, TypeConversion bConversion) {
 		String type = convertType(aConversion, ar.getType());
 		if (commutativeTypes.contains(type)) {
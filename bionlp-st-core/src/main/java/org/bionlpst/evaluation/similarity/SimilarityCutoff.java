@@ -7,7 +7,7 @@ package org.bionlpst.evaluation.similarity;
  *
  * @param <T>
  */
-public class SimilarityCutoff<T> implements Similarity<T> {
+public class SimilarityCutoff<T> implements BlockingSimilarity<T> {
 	private final Similarity<T> similarity;
 	private final double threshold;
 	private final boolean strict;
@@ -45,6 +45,21 @@ public class SimilarityCutoff<T> implements Similarity<T> {
 		return strict ? 0 : 1;
 	}
 
+	/**
+	 * Returns the key of the discretized similarity if a zero value yields 0.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object getBlockingKey(T item) {
+		if (!(similarity instanceof BlockingSimilarity)) {
+			return null;
+		}
+		if (threshold < 0 || (threshold == 0 && !strict)) {
+			return null;
+		}
+		return ((BlockingSimilarity<T>) similarity).getBlockingKey(item);
+	}
+
 	@Override
 	public void explain(StringBuilder sb, T a, T b) {
 		similarity.explain(sb, a, b);
@@ -0,0 +1,307 @@
+package org.bionlpst.evaluation.similarity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.util.ResourceRegistry;
+
+/**
+ * Compiled ontology for Wang semantic similarity.
+ * Node identifiers are interned into integer ids in lexicographic order.
+ * The S-values of each node are stored in two parallel arrays sorted by ancestor id, and the semantic value of each node is precomputed.
+ * @author rbossy
+ *
+ */
+public class WangOntologyIndex {
+	private final Map<String,Integer> ids;
+	private final String[] names;
+	private final int[][] ancestors;
+	private final double[][] ancestorSValues;
+	private final double[] semanticValues;
+
+	private WangOntologyIndex(String[] names, int[][] ancestors, double[][] ancestorSValues) {
+		super();
+		this.names = names;
+		this.ancestors = ancestors;
+		this.ancestorSValues = ancestorSValues;
+		ids = new HashMap<String,Integer>(names.length * 2);
+		for (int i = 0; i < names.length; ++i) {
+			ids.put(names[i], i);
+		}
+		semanticValues = new double[names.length];
+		for (int i = 0; i < names.length; ++i) {
+			double[] sv = ancestorSValues[i];
+			if (sv != null) {
+				double s = 0;
+				for (double v : sv) {
+					s += v;
+				}
+				semanticValues[i] = s;
+			}
+		}
+	}
+
+	/**
+	 * Compiles an index from S-values.
+	 * @param sValues S-values of ancestors for each node.
+	 * @return the compiled index.
+	 */
+	public static WangOntologyIndex create(Map<String,Map<String,Double>> sValues) {
+		Collection<String> allNames = new TreeSet<String>(sValues.keySet());
+		for (Map<String,Double> sv : sValues.values()) {
+			allNames.addAll(sv.keySet());
+		}
+		String[] names = allNames.toArray(new String[allNames.size()]);
+		Map<String,Integer> ids = new HashMap<String,Integer>(names.length * 2);
+		for (int i = 0; i < names.length; ++i) {
+			ids.put(names[i], i);
+		}
+		int[][] ancestors = new int[names.length][];
+		double[][] ancestorSValues = new double[names.length][];
+		for (Map.Entry<String,Map<String,Double>> e : sValues.entrySet()) {
+			int id = ids.get(e.getKey());
+			Map<String,Double> sorted = new TreeMap<String,Double>(e.getValue());
+			int[] anc = new int[sorted.size()];
+			double[] sv = new double[sorted.size()];
+			int i = 0;
+			for (Map.Entry<String,Double> e2 : sorted.entrySet()) {
+				anc[i] = ids.get(e2.getKey());
+				sv[i] = e2.getValue();
+				i++;
+			}
+			ancestors[id] = anc;
+			ancestorSValues[id] = sv;
+		}
+		return new WangOntologyIndex(names, ancestors, ancestorSValues);
+	}
+
+	/**
+	 * Compiles an index from a parents file.
+	 * Each line of the file contains a child identifier and a parent identifier separated by a tab.
+	 * @param r parents file reader.
+	 * @param weight weight of is-a relations.
+	 * @return the compiled index.
+	 * @throws IOException
+	 */
+	public static WangOntologyIndex createFromParentsFile(BufferedReader r, double weight) throws IOException {
+		Map<String,Collection<String>> parentMap = new TreeMap<String,Collection<String>>();
+		while (true) {
+			String line = r.readLine();
+			if (line == null) {
+				break;
+			}
+			int tab = line.indexOf('\t');
+			if (tab == -1) {
+				throw new BioNLPSTException("missing tab");
+			}
+			String childId = line.substring(0, tab);
+			String parentId = line.substring(tab+1);
+			ensure(parentMap, childId).add(parentId);
+			ensure(parentMap, parentId);
+		}
+		String[] names = parentMap.keySet().toArray(new String[parentMap.size()]);
+		Map<String,Integer> ids = new HashMap<String,Integer>(names.length * 2);
+		for (int i = 0; i < names.length; ++i) {
+			ids.put(names[i], i);
+		}
+		int[][] parents = new int[names.length][];
+		for (int i = 0; i < names.length; ++i) {
+			Collection<String> ps = parentMap.get(names[i]);
+			int[] p = new int[ps.size()];
+			int j = 0;
+			for (String parentId : ps) {
+				p[j++] = ids.get(parentId);
+			}
+			parents[i] = p;
+		}
+		SValuesBuilder builder = new SValuesBuilder(parents, weight);
+		for (int i = 0; i < names.length; ++i) {
+			builder.build(i);
+		}
+		return new WangOntologyIndex(names, builder.ancestors, builder.ancestorSValues);
+	}
+
+	/**
+	 * Returns a loader that compiles an index from a parents file.
+	 * @param weight weight of is-a relations.
+	 * @return a loader that compiles an index from a parents file.
+	 * @see #createFromParentsFile(BufferedReader, double)
+	 */
+	public static ResourceRegistry.Loader<WangOntologyIndex> getParentsFileLoader(final double weight) {
+		return new ResourceRegistry.Loader<WangOntologyIndex>() {
+			@Override
+			public String getKey() {
+				return "wang-parents:" + weight;
+			}
+
+			@Override
+			public WangOntologyIndex load(BufferedReader r) throws IOException {
+				return createFromParentsFile(r, weight);
+			}
+		};
+	}
+
+	private static Collection<String> ensure(Map<String,Collection<String>> map, String id) {
+		if (map.containsKey(id)) {
+			return map.get(id);
+		}
+		Collection<String> result = new LinkedHashSet<String>();
+		map.put(id, result);
+		return result;
+	}
+
+	/**
+	 * Computes S-values of each node from the S-values of its parents.
+	 * The S-value of an ancestor is the maximum over parents of the parent S-value multiplied by the weight.
+	 */
+	private static class SValuesBuilder {
+		private final int[][] parents;
+		private final double weight;
+		private final int[][] ancestors;
+		private final double[][] ancestorSValues;
+		private final double[] buffer;
+		private final boolean[] touched;
+		private final List<Integer> touchedIds = new ArrayList<Integer>();
+
+		private SValuesBuilder(int[][] parents, double weight) {
+			super();
+			this.parents = parents;
+			this.weight = weight;
+			ancestors = new int[parents.length][];
+			ancestorSValues = new double[parents.length][];
+			buffer = new double[parents.length];
+			touched = new boolean[parents.length];
+		}
+
+		private void build(int node) {
+			if (ancestors[node] != null) {
+				return;
+			}
+			for (int p : parents[node]) {
+				build(p);
+			}
+			touch(node, 1);
+			for (int p : parents[node]) {
+				int[] anc = ancestors[p];
+				double[] sv = ancestorSValues[p];
+				for (int i = 0; i < anc.length; ++i) {
+					touch(anc[i], sv[i] * weight);
+				}
+			}
+			int[] anc = new int[touchedIds.size()];
+			for (int i = 0; i < anc.length; ++i) {
+				anc[i] = touchedIds.get(i);
+			}
+			Arrays.sort(anc);
+			double[] sv = new double[anc.length];
+			for (int i = 0; i < anc.length; ++i) {
+				sv[i] = buffer[anc[i]];
+				touched[anc[i]] = false;
+			}
+			touchedIds.clear();
+			ancestors[node] = anc;
+			ancestorSValues[node] = sv;
+		}
+
+		private void touch(int id, double value) {
+			if (touched[id]) {
+				if (value > buffer[id]) {
+					buffer[id] = value;
+				}
+			}
+			else {
+				touched[id] = true;
+				buffer[id] = value;
+				touchedIds.add(id);
+			}
+		}
+	}
+
+	/**
+	 * Returns the integer id of the specified node.
+	 * @param name node identifier.
+	 * @return the integer id of the specified node, -1 if the node is not in this index.
+	 */
+	public int getId(String name) {
+		Integer result = ids.get(name);
+		if (result == null) {
+			return -1;
+		}
+		return result;
+	}
+
+	public String getName(int id) {
+		return names[id];
+	}
+
+	public int size() {
+		return names.length;
+	}
+
+	/**
+	 * Returns either the specified node has S-values.
+	 * @param id node id.
+	 */
+	public boolean hasSValues(int id) {
+		return id >= 0 && ancestors[id] != null;
+	}
+
+	public double getSemanticValue(int id) {
+		return semanticValues[id];
+	}
+
+	/**
+	 * Packs a pair of node ids into a long key, the key does not depend on the order of ids.
+	 * @param a id of the first node.
+	 * @param b id of the second node.
+	 * @return the packed key.
+	 */
+	public static long pack(int a, int b) {
+		if (a > b) {
+			return pack(b, a);
+		}
+		return (((long) a) << 32) | (b & 0xffffffffL);
+	}
+
+	/**
+	 * Computes the Wang similarity between two nodes.
+	 * @param a id of the first node.
+	 * @param b id of the second node.
+	 * @return the similarity between the specified nodes, 0 if either node has no S-values.
+	 */
+	public double getNodeSimilarity(int a, int b) {
+		if (!hasSValues(a) || !hasSValues(b)) {
+			return 0;
+		}
+		int[] ancA = ancestors[a];
+		int[] ancB = ancestors[b];
+		double[] svA = ancestorSValues[a];
+		double[] svB = ancestorSValues[b];
+		double interSum = 0;
+		int i = 0;
+		int j = 0;
+		while (i < ancA.length && j < ancB.length) {
+			if (ancA[i] < ancB[j]) {
+				i++;
+			}
+			else if (ancA[i] > ancB[j]) {
+				j++;
+			}
+			else {
+				interSum += svA[i++];
+				interSum += svB[j++];
+			}
+		}
+		return interSum / (semanticValues[a] + semanticValues[b]);
+	}
+}
@@ -3,148 +3,74 @@ package org.bionlpst.evaluation.similarity;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.TreeMap;
-
-import org.bionlpst.BioNLPSTException;
 
+/**
+ * Wang semantic similarity between sets of ontology nodes.
+ * Node similarities are computed on a compiled ontology index and stored in an optional node pair cache.
+ * By default there is no cache: a lookup in the compiled index is an allocation-free merge, which costs less than a cache lookup.
+ * @author rbossy
+ *
+ */
 public class WangSimilarity implements Similarity<Collection<String>> {
-	private final Map<String,Map<String,Double>> nodeSimilarityCache = new HashMap<String,Map<String,Double>>();
-	private final Map<String,Map<String,Double>> sValues;
+	private final WangOntologyIndex index;
 	private final double weight;
+	private final NodePairCache cache;
 
-	public WangSimilarity(Map<String,Map<String,Double>> sValues, double weight) {
+	/**
+	 * Creates a new Wang similarity.
+	 * @param index compiled ontology.
+	 * @param weight weight of is-a relations.
+	 * @param cache node similarity cache, null for no cache.
+	 */
+	public WangSimilarity(WangOntologyIndex index, double weight, NodePairCache cache) {
 		super();
-		this.sValues = sValues;
+		this.index = index;
 		this.weight = weight;
+		this.cache = cache;
 	}
-	
-	private static WangSimilarity createFromNodes(Map<String,Node> nodes, double weight) {
-		return new WangSimilarity(sValues(nodes, weight), weight);
-	}
-	
-	public static WangSimilarity createFromParentsFile(BufferedReader parents, double weight) throws IOException {
-		return createFromNodes(buildNodes(parents), weight);
-	}
-
-	private static class Node {
-		private final String id;
-		private final Collection<Node> parents = new HashSet<Node>();
-		
-		private Node(String id) {
-			super();
-			this.id = id;
-		}
 
-		private void addParent(Node parent) {
-			parents.add(parent);
-		}
-		
-		private void sValues(Map<String,Double> result, double current, double weight) {
-			if (result.containsKey(id)) {
-				double prev = result.get(id);
-				if (current > prev) {
-					result.put(id, current);
-				}
-			}
-			else {
-				result.put(id, current);
-			}
-			double next = current * weight;
-			for (Node parent : parents) {
-				parent.sValues(result, next, weight);
-			}
-		}
-		
-		private Map<String,Double> sValues(double weight) {
-			Map<String,Double> result = new TreeMap<String,Double>();
-			sValues(result, 1, weight);
-			return result;
-		}
-	}
-	
-	private static Node ensure(Map<String,Node> nodes, String id) {
-		if (nodes.containsKey(id)) {
-			return nodes.get(id);
-		}
-		Node result = new Node(id);
-		nodes.put(id, result);
-		return result;
+	public WangSimilarity(WangOntologyIndex index, double weight) {
+		this(index, weight, null);
 	}
-	
-	private static void buildNodes(Map<String,Node> nodes, String childId, String parentId) {
-		Node child = ensure(nodes, childId);
-		Node parent = ensure(nodes, parentId);
-		child.addParent(parent);
+
+	public WangSimilarity(Map<String,Map<String,Double>> sValues, double weight) {
+		this(WangOntologyIndex.create(sValues), weight);
 	}
 	
-	private static Map<String,Node> buildNodes(BufferedReader r) throws IOException {
-		Map<String,Node> result = new TreeMap<String,Node>();
-		while (true) {
-			String line = r.readLine();
-			if (line == null) {
-				break;
-			}
-			int tab = line.indexOf('\t');
-			if (tab == -1) {
-				throw new BioNLPSTException("missing tab");
-			}
-			String childId = line.substring(0, tab);
-			String parentId = line.substring(tab+1);
-			buildNodes(result, childId, parentId);
-		}
-		return result;
+	public static WangSimilarity createFromParentsFile(BufferedReader parents, double weight, NodePairCache cache) throws IOException {
+		return new WangSimilarity(WangOntologyIndex.createFromParentsFile(parents, weight), weight, cache);
 	}
 	
-	private static Map<String,Map<String,Double>> sValues(Map<String,Node> nodes, double weight) {
-		Map<String,Map<String,Double>> result = new HashMap<String, Map<String,Double>>();
-		for (Node node : nodes.values()) {
-			result.put(node.id, node.sValues(weight));
-		}
-		return result;
+	public static WangSimilarity createFromParentsFile(BufferedReader parents, double weight) throws IOException {
+		return new WangSimilarity(WangOntologyIndex.createFromParentsFile(parents, weight), weight);
 	}
-	
-	private Double getCached(String a, String b) {
-		if (!nodeSimilarityCache.containsKey(a)) {
-			return null;
-		}
-		return nodeSimilarityCache.get(a).get(b);
+
+	public WangOntologyIndex getIndex() {
+		return index;
 	}
-	
-	private static double getSemanticValue(Map<String,Double> sValues) {
-		double result = 0;
-		for (double s : sValues.values()) {
-			result += s;
-		}
-		return result;
+
+	public NodePairCache getCache() {
+		return cache;
 	}
-	
+
 	private double getNodeSimilarity(StringBuilder sb, String a, String b) {
-		Double cached = getCached(a, b);
-		if (sb == null && cached != null) {
-			return cached;
-		}
-		if (!sValues.containsKey(a)) {
+		int ida = index.getId(a);
+		int idb = index.getId(b);
+		if (!index.hasSValues(ida) || !index.hasSValues(idb)) {
 			return 0;
 		}
-		if (!sValues.containsKey(b)) {
-			return 0;
+		long key = WangOntologyIndex.pack(ida, idb);
+		if (sb == null && cache != null) {
+			double cached = cache.get(key);
+			if (!Double.isNaN(cached)) {
+				return cached;
+			}
 		}
-		Map<String,Double> sValues_a = sValues.get(a);
-		Map<String,Double> sValues_b = sValues.get(b);
-		Collection<String> inter = new HashSet<String>(sValues_a.keySet());
-		inter.retainAll(sValues_b.keySet());
-		double interSum = 0;
-		for (String id : inter) {
-			interSum += sValues_a.get(id);
-			interSum += sValues_b.get(id);
+		double result = index.getNodeSimilarity(ida, idb);
+		if (cache != null) {
+			cache.put(key, result);
 		}
-		double SVa = getSemanticValue(sValues_a);
-		double SVb = getSemanticValue(sValues_b);
-		double result = interSum / (SVa + SVb);
-		putCache(a, b, result);
 		if (sb != null) {
 			sb.append("sim(");
 			sb.append(a);
@@ -153,32 +79,9 @@ public class WangSimilarity implements Similarity<Collection<String>> {
 			sb.append(") = ");
 			sb.append(result);
 			sb.append('\n');
-//			sb.append("sva = ");
-//			sb.append(sValues_a);
-//			sb.append("\n");
-//			sb.append("svb = ");
-//			sb.append(sValues_b);
-//			sb.append("\n");
-//			sb.append("inter = ");
-//			sb.append(inter);
-//			sb.append("\n");
 		}
 		return result;
 	}
-	
-	private Map<String,Double> ensureInCache(String id) {
-		if (nodeSimilarityCache.containsKey(id)) {
-			return nodeSimilarityCache.get(id);
-		}
-		Map<String,Double> result = new HashMap<String,Double>();
-		nodeSimilarityCache.put(id, result);
-		return result;
-	}
-	
-	private void putCache(String a, String b, double result) {
-		ensureInCache(a).put(b, result);
-		ensureInCache(b).put(a, result);
-	}
 
 	private double getNodeSimilarity(StringBuilder sb, String a, Collection<String> bs) {
 		double result = 0;
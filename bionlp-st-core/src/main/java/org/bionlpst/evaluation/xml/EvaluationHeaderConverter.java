@@ -0,0 +1,91 @@
+package org.bionlpst.evaluation.xml;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bionlpst.BioNLPSTException;
+import org.bionlpst.evaluation.EvaluationHeader;
+import org.bionlpst.evaluation.Measure;
+import org.bionlpst.evaluation.ScoringHeader;
+import org.bionlpst.util.dom.DOMUtil;
+import org.bionlpst.util.dom.DOMElementConverter;
+import org.w3c.dom.Element;
+
+/**
+ * Converts an evaluation element into an evaluation header.
+ * Only names and measures are read, pairing algorithms, similarities and filters are not created.
+ * @author rbossy
+ *
+ */
+public enum EvaluationHeaderConverter implements DOMElementConverter<EvaluationHeader> {
+	INSTANCE {
+		@Override
+		public EvaluationHeader convert(Element element) throws Exception {
+			String name = DOMUtil.getMandatoryAttribute(element, "name");
+			List<ScoringHeader> scorings = new ArrayList<ScoringHeader>();
+			for (Element child : DOMUtil.getChildrenElements(element, false)) {
+				String tag = child.getTagName();
+				switch (tag) {
+					case "pairing-algorithm":
+					case "matching-similarity":
+					case "pre-filter": {
+						break;
+					}
+					case "scoring": {
+						String scoringName = DOMUtil.getMandatoryAttribute(child, "name");
+						Collection<Measure> measures = getMeasures(child, null);
+						scorings.add(new ScoringHeader(scoringName, measures));
+						break;
+					}
+					case "type-scorings": {
+						String[] types = null;
+						for (Element typesElement : DOMUtil.getChildrenElements(child, false)) {
+							if (typesElement.getTagName().equals("types")) {
+								types = DOMUtil.getArrayContents(typesElement);
+							}
+						}
+						if (types == null) {
+							throw new BioNLPSTException("missing tag: types");
+						}
+						Collection<Measure> measures = getMeasures(child, scorings.isEmpty() ? null : scorings.get(0).getMeasures());
+						for (String type : types) {
+							scorings.add(new ScoringHeader(type, measures));
+						}
+						break;
+					}
+					default: {
+						throw new BioNLPSTException("unexpected tag: " + tag);
+					}
+				}
+			}
+			if (scorings.isEmpty()) {
+				throw new BioNLPSTException("missing scorings");
+			}
+			return new EvaluationHeader(name, scorings);
+		}
+	};
+
+	private static Collection<Measure> getMeasures(Element element, List<Measure> defaultMeasures) throws BioNLPSTException {
+		Collection<Measure> result = new ArrayList<Measure>();
+		for (Element child : DOMUtil.getChildrenElements(element, false)) {
+			switch (child.getTagName()) {
+				case "post-filter":
+				case "similarity":
+				case "types": {
+					break;
+				}
+				default: {
+					ScoringConverter.addMeasures(result, child);
+				}
+			}
+		}
+		if (result.isEmpty()) {
+			if (defaultMeasures == null || defaultMeasures.isEmpty()) {
+				throw new BioNLPSTException("missing measures in scoring");
+			}
+			return defaultMeasures;
+		}
+		return result;
+	}
+}
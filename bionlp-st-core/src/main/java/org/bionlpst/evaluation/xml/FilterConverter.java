@@ -1,6 +1,5 @@
 package org.bionlpst.evaluation.xml;
 
-import java.io.BufferedReader;
 import java.util.List;
 
 import org.bionlpst.BioNLPSTException;
@@ -8,12 +7,14 @@ import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.AnnotationKind;
 import org.bionlpst.corpus.AnnotationTypeFilter;
 import org.bionlpst.corpus.BackReferenceCardinalityFilter;
+import org.bionlpst.corpus.CollectionFilter;
 import org.bionlpst.corpus.DocumentIdFilter;
 import org.bionlpst.corpus.IdFilter;
 import org.bionlpst.corpus.NormalizationFilter;
 import org.bionlpst.corpus.SameSentenceFilter;
 import org.bionlpst.corpus.UniqueFormAndNormalizationFilter;
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
 import org.bionlpst.util.SourceStream;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.dom.DOMElementConverter;
@@ -99,9 +100,7 @@ public class FilterConverter implements DOMElementConverter<Filter<Annotation>>
 			case "same-sentence": {
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(element);
-				try (BufferedReader r = source.openBufferedReader()) {
-					return new SameSentenceFilter(r);
-				}
+				return new SameSentenceFilter(ResourceRegistry.SHARED.get(source, SameSentenceFilter.SENTENCES));
 			}
 			case "unique-form-norm": {
 				String textBoundType = DOMUtil.getAttribute(element, "text-bound-type", null);
@@ -112,17 +111,13 @@ public class FilterConverter implements DOMElementConverter<Filter<Annotation>>
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(element);
 				boolean excludeIds = DOMUtil.getBooleanAttribute(element, "exclude", false);
-				try (BufferedReader r = source.openBufferedReader()) {
-					return new IdFilter(r, excludeIds);
-				}
+				return new IdFilter(ResourceRegistry.SHARED.get(source, IdFilter.ANNOTATION_IDS), excludeIds);
 			}
 			case "doc-identifiers": {
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(element);
 				boolean excludeIds = DOMUtil.getBooleanAttribute(element, "exclude", false);
-				try (BufferedReader r = source.openBufferedReader()) {
-					return new DocumentIdFilter(r, excludeIds);
-				}
+				return new DocumentIdFilter(ResourceRegistry.SHARED.get(source, DocumentIdFilter.DOCUMENT_IDS), excludeIds);
 			}
 			case "backreference-cardinality": {
 				String type = element.getTextContent().trim();
@@ -134,9 +129,8 @@ public class FilterConverter implements DOMElementConverter<Filter<Annotation>>
 				String type = element.getTextContent().trim();
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(element);
-				try (BufferedReader r = source.openBufferedReader()) {
-					return new NormalizationFilter<Annotation>(type, r);
-				}
+				CollectionFilter acceptedReferents = new CollectionFilter(ResourceRegistry.SHARED.get(source, CollectionFilter.ACCEPTED_VALUES));
+				return new NormalizationFilter<Annotation>(type, acceptedReferents);
 			}
 			case "custom": {
 				@SuppressWarnings("unchecked")
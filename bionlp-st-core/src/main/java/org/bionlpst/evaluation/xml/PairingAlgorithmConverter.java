@@ -2,10 +2,14 @@ package org.bionlpst.evaluation.xml;
 
 import org.bionlpst.BioNLPSTException;
 import org.bionlpst.corpus.Annotation;
+import org.bionlpst.evaluation.CandidateGenerator;
+import org.bionlpst.evaluation.ComponentPairing;
 import org.bionlpst.evaluation.HeuristicPairing;
+import org.bionlpst.evaluation.HungarianPairing;
 import org.bionlpst.evaluation.PairingAlgorithm;
 import org.bionlpst.evaluation.PredictionPairing;
 import org.bionlpst.evaluation.ReferencePairing;
+import org.bionlpst.evaluation.TextBoundOverlapCandidates;
 import org.bionlpst.util.dom.DOMElementConverter;
 import org.bionlpst.util.dom.DOMUtil;
 import org.w3c.dom.Element;
@@ -29,6 +33,9 @@ public class PairingAlgorithmConverter implements DOMElementConverter<PairingAlg
 			case "heuristic": {
 				return new HeuristicPairing<Annotation>();
 			}
+			case "hungarian": {
+				return new HungarianPairing<Annotation>();
+			}
 			case "references": {
 				double threshold = DOMUtil.getDoubleAttribute(element, "threshold", 0);
 				boolean falseNegativePairs = DOMUtil.getBooleanAttribute(element, "false-negatives", false);
@@ -39,6 +46,15 @@ public class PairingAlgorithmConverter implements DOMElementConverter<PairingAlg
 				boolean falsePositivePairs = DOMUtil.getBooleanAttribute(element, "false-positives", false);
 				return new PredictionPairing<Annotation>(threshold, falsePositivePairs);
 			}
+			case "components": {
+				int parallelism = DOMUtil.getIntAttribute(element, "parallelism", 1);
+				CandidateGenerator<Annotation> candidateGenerator = null;
+				if (DOMUtil.getBooleanAttribute(element, "text-bound-overlap", false)) {
+					candidateGenerator = TextBoundOverlapCandidates.INSTANCE;
+				}
+				PairingAlgorithm<Annotation> delegate = convert(DOMUtil.getFirstChildElement(element));
+				return new ComponentPairing<Annotation>(delegate, parallelism, candidateGenerator);
+			}
 			case "custom": {
 				@SuppressWarnings("unchecked")
 				PairingAlgorithm<Annotation> result = DOMUtil.getContentsByClassName(element, PairingAlgorithm.class);
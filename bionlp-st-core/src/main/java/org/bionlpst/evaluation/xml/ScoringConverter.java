@@ -87,22 +87,11 @@ public class ScoringConverter implements DOMElementConverter<Scoring<Annotation>
 					similarity = new SimilarityConverter(classLoader).convert(DOMUtil.getFirstChildElement(child));
 					break;
 				}
-				case "measure": {
-					String sMeasure = child.getTextContent();
-					Measure measure = MeasureConverter.getMeasure(sMeasure);
-					measures.add(measure);
-					break;
-				}
-				case "f1-measures": {
-					measures.addAll(StandardMeasures.getF1Measures());
-					break;
-				}
-				case "ser-measures": {
-					measures.addAll(StandardMeasures.getSERMeasures());
-					break;
-				}
+				case "measure":
+				case "f1-measures":
+				case "ser-measures":
 				case "count-measures": {
-					measures.addAll(StandardMeasures.getCountMeasures());
+					addMeasures(measures, child);
 					break;
 				}
 				case "types": {
@@ -133,4 +122,37 @@ public class ScoringConverter implements DOMElementConverter<Scoring<Annotation>
 		}
 		return new Scoring<Annotation>(name, new PairFilter<Annotation>(postFilter), similarity, measures);
 	}
+
+	/**
+	 * Adds the measures specified by the specified measure element.
+	 * @param measures collection where to add measures.
+	 * @param element one of measure, f1-measures, ser-measures or count-measures.
+	 * @throws BioNLPSTException if the element is not a measure element.
+	 */
+	static void addMeasures(Collection<Measure> measures, Element element) throws BioNLPSTException {
+		String tag = element.getTagName();
+		switch (tag) {
+			case "measure": {
+				String sMeasure = element.getTextContent();
+				Measure measure = MeasureConverter.getMeasure(sMeasure);
+				measures.add(measure);
+				break;
+			}
+			case "f1-measures": {
+				measures.addAll(StandardMeasures.getF1Measures());
+				break;
+			}
+			case "ser-measures": {
+				measures.addAll(StandardMeasures.getSERMeasures());
+				break;
+			}
+			case "count-measures": {
+				measures.addAll(StandardMeasures.getCountMeasures());
+				break;
+			}
+			default: {
+				throw new BioNLPSTException("unexpected tag: " + tag);
+			}
+		}
+	}
 }
@@ -1,6 +1,8 @@
 package org.bionlpst.evaluation.xml;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -17,9 +19,11 @@ import org.bionlpst.evaluation.similarity.AnnotationTypeSimilarity;
 import org.bionlpst.evaluation.similarity.CompositeSimilarity;
 import org.bionlpst.evaluation.similarity.ConstantSimilarity;
 import org.bionlpst.evaluation.similarity.Identity;
+import org.bionlpst.evaluation.similarity.LRUNodePairCache;
 import org.bionlpst.evaluation.similarity.Max;
 import org.bionlpst.evaluation.similarity.MaxFromEquivalence;
 import org.bionlpst.evaluation.similarity.Min;
+import org.bionlpst.evaluation.similarity.NodePairCache;
 import org.bionlpst.evaluation.similarity.NormalizationJaccard;
 import org.bionlpst.evaluation.similarity.NormalizationSimilarity;
 import org.bionlpst.evaluation.similarity.Product;
@@ -29,8 +33,10 @@ import org.bionlpst.evaluation.similarity.Similarity;
 import org.bionlpst.evaluation.similarity.SimilarityCutoff;
 import org.bionlpst.evaluation.similarity.SingleReferenceSimilarity;
 import org.bionlpst.evaluation.similarity.TextBoundJaccard;
+import org.bionlpst.evaluation.similarity.WangOntologyIndex;
 import org.bionlpst.evaluation.similarity.WangSimilarity;
 import org.bionlpst.util.Filter;
+import org.bionlpst.util.ResourceRegistry;
 import org.bionlpst.util.SourceStream;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.dom.DOMElementConverter;
@@ -153,15 +159,16 @@ public class SimilarityConverter implements DOMElementConverter<Similarity<Annot
 			}
 			case "wang": {
 				double weight = DOMUtil.getDoubleAttribute(element, "weight");
+				int cacheSize = DOMUtil.getIntAttribute(element, "cache-size", 0);
+				NodePairCache cache = cacheSize > 0 ? new LRUNodePairCache(cacheSize) : null;
 				String normalizationType = DOMUtil.getMandatoryAttribute(element, "normalization-type");
 				Map<String,String> referentMap = getReferentMap(element);
 				Filter<String> acceptedReferents = getAcceptedReferents(element);
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(element);
-				try (BufferedReader r = source.openBufferedReader()) {
-					Similarity<Collection<String>> wang = WangSimilarity.createFromParentsFile(r, weight);
-					return new NormalizationSimilarity(normalizationType, acceptedReferents, wang, referentMap);
-				}
+				WangOntologyIndex index = ResourceRegistry.SHARED.get(source, WangOntologyIndex.getParentsFileLoader(weight));
+				Similarity<Collection<String>> wang = new WangSimilarity(index, weight, cache);
+				return new NormalizationSimilarity(normalizationType, acceptedReferents, wang, referentMap);
 			}
 			case "equivalence": {
 				Similarity<Annotation> sim = convert(DOMUtil.getFirstChildElement(element));
@@ -191,27 +198,49 @@ public class SimilarityConverter implements DOMElementConverter<Similarity<Annot
 		return new SameTypeAndArgumentsSimilarity.TypeConversion(newType, roleConversion);
 	}
 	
+	private static final ResourceRegistry.Loader<Map<String,String>> REFERENT_MAP = new ResourceRegistry.Loader<Map<String,String>>() {
+		@Override
+		public String getKey() {
+			return "referent-map";
+		}
+
+		@Override
+		public Map<String,String> load(BufferedReader r) throws IOException {
+			Map<String,String> result = new HashMap<String,String>();
+			while (true) {
+				String line = r.readLine();
+				if (line == null) {
+					break;
+				}
+				List<String> columns = Util.split(line, '\t');
+				String from = columns.get(0);
+				String to = columns.get(1);
+				result.put(from, to);
+			}
+			return Collections.unmodifiableMap(result);
+		}
+	};
+
 	private Map<String,String> getReferentMap(Element element) throws Exception {
-		Map<String,String> result = new HashMap<String,String>();
+		List<Map<String,String>> maps = new ArrayList<Map<String,String>>();
 		for (Element child : DOMUtil.getChildrenElements(element, false)) {
 			if (child.getTagName().equals("referent-map")) {
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(child);
-				try (BufferedReader r = source.openBufferedReader()) {
-					while (true) {
-						String line = r.readLine();
-						if (line == null) {
-							break;
-						}
-						List<String> columns = Util.split(line, '\t');
-						String from = columns.get(0);
-						String to = columns.get(1);
-						result.put(from, to);
-					}
+				maps.add(ResourceRegistry.SHARED.get(source, REFERENT_MAP));
+			}
+		}
+		switch (maps.size()) {
+			case 0: return Collections.emptyMap();
+			case 1: return maps.get(0);
+			default: {
+				Map<String,String> result = new HashMap<String,String>();
+				for (Map<String,String> map : maps) {
+					result.putAll(map);
 				}
+				return result;
 			}
 		}
-		return result;
 	}
 
 	private Filter<String> getAcceptedReferents(Element element) throws Exception {
@@ -219,9 +248,7 @@ public class SimilarityConverter implements DOMElementConverter<Similarity<Annot
 			if (child.getTagName().equals("referent-filter")) {
 				SourceStreamConverter converter = new SourceStreamConverter(classLoader);
 				SourceStream source = converter.convert(child);
-				try (BufferedReader r = source.openBufferedReader()) {
-					return new CollectionFilter(r);
-				}
+				return new CollectionFilter(ResourceRegistry.SHARED.get(source, CollectionFilter.ACCEPTED_VALUES));
 			}
 		}
 		return new Filter.AcceptAll<String>();
@@ -2,6 +2,7 @@ package org.bionlpst.schema;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.bionlpst.util.message.CheckLogger;
@@ -9,11 +10,12 @@ import org.bionlpst.util.message.CheckLogger;
 /**
  * A composite schema contains several schemas.
  * Checking an item checks this item against each contained schema.
+ * The reference and prediction schemas of a composite schema are the composites of the reference and prediction schemas of each contained schema.
  * @author rbossy
  *
  * @param <T>
  */
-public class CompositeSchema<T> implements Schema<T> {
+public class CompositeSchema<T> implements IncrementalSchema<T> {
 	private final List<Schema<T>> schemas = new ArrayList<Schema<T>>();
 
 	/**
@@ -40,6 +42,14 @@ public class CompositeSchema<T> implements Schema<T> {
 		schemas.add(schema);
 	}
 
+	/**
+	 * Returns the schemas contained in this composite schema.
+	 * @return the schemas contained in this composite schema. The returned collection is an unmodifiable view.
+	 */
+	public Collection<Schema<T>> getSchemas() {
+		return Collections.unmodifiableCollection(schemas);
+	}
+
 	@Override
 	public void check(CheckLogger logger, T item) {
 		for (Schema<T> schema : schemas) {
@@ -61,4 +71,22 @@ public class CompositeSchema<T> implements Schema<T> {
 		}
 		return result;
 	}
+
+	@Override
+	public Schema<T> getReferenceSchema() {
+		CompositeSchema<T> result = new CompositeSchema<T>();
+		for (Schema<T> schema : schemas) {
+			result.addCompound(Schemas.getReferenceSchema(schema));
+		}
+		return result;
+	}
+
+	@Override
+	public Schema<T> getPredictionSchema() {
+		CompositeSchema<T> result = new CompositeSchema<T>();
+		for (Schema<T> schema : schemas) {
+			result.addCompound(Schemas.getPredictionSchema(schema));
+		}
+		return result;
+	}
 }
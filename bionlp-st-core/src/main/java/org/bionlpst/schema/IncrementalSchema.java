@@ -0,0 +1,24 @@
+package org.bionlpst.schema;
+
+/**
+ * An incremental schema separates the checks of reference data from the checks that are affected by predictions.
+ * Checking an item against both the reference schema and the prediction schema is equivalent to checking it against this schema.
+ * Thus the reference schema can be checked once on a reference corpus, then only the prediction schema needs to be checked each time predictions are loaded.
+ * For annotation schemas, the reference schema performs the checks that only depend on the checked annotation and the annotations it references, the prediction schema performs the checks that depend on the annotations that reference the checked annotation.
+ * @author rbossy
+ *
+ * @param <T>
+ */
+public interface IncrementalSchema<T> extends Schema<T> {
+	/**
+	 * Returns a schema that performs the checks of this schema whose outcome does not depend on prediction annotations.
+	 * @return a schema that performs the checks of this schema whose outcome does not depend on prediction annotations.
+	 */
+	Schema<T> getReferenceSchema();
+
+	/**
+	 * Returns a schema that performs the checks of this schema whose outcome may depend on prediction annotations.
+	 * @return a schema that performs the checks of this schema whose outcome may depend on prediction annotations.
+	 */
+	Schema<T> getPredictionSchema();
+}
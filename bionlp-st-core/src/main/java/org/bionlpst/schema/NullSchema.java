@@ -8,7 +8,7 @@ import org.bionlpst.util.message.CheckLogger;
  *
  * @param <T>
  */
-public class NullSchema<T> implements Schema<T> {
+public class NullSchema<T> implements IncrementalSchema<T> {
 	@Override
 	public void check(CheckLogger logger, T item) {
 	}
@@ -17,4 +17,14 @@ public class NullSchema<T> implements Schema<T> {
 	public Schema<T> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<T> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<T> getPredictionSchema() {
+		return this;
+	}
 }
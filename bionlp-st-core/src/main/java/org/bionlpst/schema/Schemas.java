@@ -0,0 +1,65 @@
+package org.bionlpst.schema;
+
+import java.util.concurrent.ExecutorService;
+
+import org.bionlpst.corpus.Corpus;
+import org.bionlpst.schema.lib.BasicCorpusSchema;
+import org.bionlpst.util.message.CheckLogger;
+
+/**
+ * Utility methods for schemas.
+ * @author rbossy
+ *
+ */
+public enum Schemas {
+	;
+
+	/**
+	 * Returns a schema that performs the checks of the specified schema whose outcome does not depend on prediction annotations.
+	 * @param schema schema.
+	 * @return the reference schema if the specified schema is incremental, otherwise a null schema.
+	 * @see IncrementalSchema#getReferenceSchema()
+	 */
+	public static <T> Schema<T> getReferenceSchema(Schema<T> schema) {
+		if (schema instanceof IncrementalSchema) {
+			return ((IncrementalSchema<T>) schema).getReferenceSchema();
+		}
+		return new NullSchema<T>();
+	}
+
+	/**
+	 * Returns a schema that performs the checks of the specified schema whose outcome may depend on prediction annotations.
+	 * @param schema schema.
+	 * @return the prediction schema if the specified schema is incremental, otherwise the specified schema itself.
+	 * @see IncrementalSchema#getPredictionSchema()
+	 */
+	public static <T> Schema<T> getPredictionSchema(Schema<T> schema) {
+		if (schema instanceof IncrementalSchema) {
+			return ((IncrementalSchema<T>) schema).getPredictionSchema();
+		}
+		return schema;
+	}
+
+	/**
+	 * Checks the specified corpus against the specified schema, documents are checked concurrently by the schemas that check each document independently.
+	 * Schemas contained in a composite schema are checked in order.
+	 * @param schema schema.
+	 * @param logger message container where to store warnings and errors.
+	 * @param corpus corpus to check.
+	 * @param executor executor, if null then the corpus is checked sequentially.
+	 * @see BasicCorpusSchema#check(CheckLogger, Corpus, ExecutorService)
+	 */
+	public static void check(Schema<Corpus> schema, CheckLogger logger, Corpus corpus, ExecutorService executor) {
+		if (executor != null && schema instanceof BasicCorpusSchema) {
+			((BasicCorpusSchema) schema).check(logger, corpus, executor);
+		}
+		else if (executor != null && schema instanceof CompositeSchema) {
+			for (Schema<Corpus> compound : ((CompositeSchema<Corpus>) schema).getSchemas()) {
+				check(compound, logger, corpus, executor);
+			}
+		}
+		else {
+			schema.check(logger, corpus);
+		}
+	}
+}
@@ -5,6 +5,8 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.bionlpst.corpus.Relation;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
@@ -13,7 +15,7 @@ import org.bionlpst.util.message.CheckLogger;
  * @author rbossy
  *
  */
-public class AllowedRelationArgumentsSchema implements Schema<Relation> {
+public class AllowedRelationArgumentsSchema implements IncrementalSchema<Relation> {
 	private final Collection<String> allowedRoles = new HashSet<String>();
 	
 	public AllowedRelationArgumentsSchema(String... allowedRoles) {
@@ -45,4 +47,14 @@ public class AllowedRelationArgumentsSchema implements Schema<Relation> {
 	public Schema<Relation> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<Relation> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Relation> getPredictionSchema() {
+		return new NullSchema<Relation>();
+	}
 }
@@ -10,16 +10,32 @@ import org.bionlpst.corpus.Modifier;
 import org.bionlpst.corpus.Normalization;
 import org.bionlpst.corpus.Relation;
 import org.bionlpst.corpus.TextBound;
+import org.bionlpst.schema.IncrementalSchema;
 import org.bionlpst.schema.Schema;
+import org.bionlpst.schema.Schemas;
 import org.bionlpst.util.message.CheckLogger;
 
 /**
  * A schema that dispatches the check of an annotation according to its type.
+ * Unknown types and unexpected annotation kinds are reported by the reference schema, the prediction schema only performs the checks of the type schemas that depend on back-references.
  * @author rbossy
  *
  */
-public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
+public class AnnotationSchemaTypeDispatch implements IncrementalSchema<Annotation> {
 	private final Map<String,Schema<Annotation>> typeSchemas = new HashMap<String,Schema<Annotation>>();
+	private final boolean reportTypeErrors;
+
+	/**
+	 * Creates a new type dispatch schema without type schemas.
+	 */
+	public AnnotationSchemaTypeDispatch() {
+		this(true);
+	}
+
+	private AnnotationSchemaTypeDispatch(boolean reportTypeErrors) {
+		super();
+		this.reportTypeErrors = reportTypeErrors;
+	}
 
 	@Override
 	public void check(CheckLogger logger, Annotation item) {
@@ -28,7 +44,9 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 			return;
 		}
 		if (!typeSchemas.containsKey(type)) {
-			logger.serious(item.getLocation(), "unknown type: " + type);
+			if (reportTypeErrors) {
+				logger.serious(item.getLocation(), "unknown type: " + type);
+			}
 			return;
 		}
 		Schema<Annotation> schema = typeSchemas.get(type);
@@ -45,7 +63,7 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 	 * @param schema
 	 */
 	public void addTextBoundSchema(String type, Schema<TextBound> schema) {
-		addTypeSchema(type, new TextBoundSchemaWrapper(schema));
+		addTypeSchema(type, new TextBoundSchemaWrapper(schema, true));
 	}
 	
 	/**
@@ -54,7 +72,7 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 	 * @param schema
 	 */
 	public void addRelationSchema(String type, Schema<Relation> schema) {
-		addTypeSchema(type, new RelationSchemaWrapper(schema));
+		addTypeSchema(type, new RelationSchemaWrapper(schema, true));
 	}
 	
 	/**
@@ -63,7 +81,7 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 	 * @param schema
 	 */
 	public void addModifierSchema(String type, Schema<Modifier> schema) {
-		addTypeSchema(type, new ModifierSchemaWrapper(schema));
+		addTypeSchema(type, new ModifierSchemaWrapper(schema, true));
 	}
 	
 	/**
@@ -72,17 +90,19 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 	 * @param schema
 	 */
 	public void addNormalizationSchema(String type, Schema<Normalization> schema) {
-		addTypeSchema(type, new NormalizationSchemaWrapper(schema));
+		addTypeSchema(type, new NormalizationSchemaWrapper(schema, true));
 	}
 
-	private static abstract class AnnotationSchemaWrapper<T extends Annotation> implements Schema<Annotation> {
+	private static abstract class AnnotationSchemaWrapper<T extends Annotation> implements IncrementalSchema<Annotation> {
 		private final AnnotationKind expectedKind;
 		protected final Schema<T> schema;
+		protected final boolean reportKindErrors;
 
-		protected AnnotationSchemaWrapper(AnnotationKind expectedKind, Schema<T> schema) {
+		protected AnnotationSchemaWrapper(AnnotationKind expectedKind, Schema<T> schema, boolean reportKindErrors) {
 			super();
 			this.expectedKind = expectedKind;
 			this.schema = schema;
+			this.reportKindErrors = reportKindErrors;
 		}
 
 		@Override
@@ -91,18 +111,37 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 				return;
 			}
 			if (expectedKind != item.getKind()) {
-				logger.serious(item.getLocation(), "annotation should be " + expectedKind);
+				if (reportKindErrors) {
+					logger.serious(item.getLocation(), "annotation should be " + expectedKind);
+				}
 				return;
 			}
 			schema.check(logger, downcast(item));
 		}
 
 		protected abstract T downcast(Annotation item);
+
+		protected abstract Schema<Annotation> wrap(Schema<T> schema, boolean reportKindErrors);
+
+		@Override
+		public Schema<Annotation> reduce() {
+			return wrap(schema.reduce(), reportKindErrors);
+		}
+
+		@Override
+		public Schema<Annotation> getReferenceSchema() {
+			return wrap(Schemas.getReferenceSchema(schema), true);
+		}
+
+		@Override
+		public Schema<Annotation> getPredictionSchema() {
+			return wrap(Schemas.getPredictionSchema(schema), false);
+		}
 	}
 	
 	private static class TextBoundSchemaWrapper extends AnnotationSchemaWrapper<TextBound> {
-		private TextBoundSchemaWrapper(Schema<TextBound> schema) {
-			super(AnnotationKind.TEXT_BOUND, schema);
+		private TextBoundSchemaWrapper(Schema<TextBound> schema, boolean reportKindErrors) {
+			super(AnnotationKind.TEXT_BOUND, schema, reportKindErrors);
 		}
 
 		@Override
@@ -111,14 +150,14 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 		}
 
 		@Override
-		public Schema<Annotation> reduce() {
-			return new TextBoundSchemaWrapper(schema.reduce());
+		protected Schema<Annotation> wrap(Schema<TextBound> schema, boolean reportKindErrors) {
+			return new TextBoundSchemaWrapper(schema, reportKindErrors);
 		}
 	}
 	
 	private static class RelationSchemaWrapper extends AnnotationSchemaWrapper<Relation> {
-		private RelationSchemaWrapper(Schema<Relation> schema) {
-			super(AnnotationKind.RELATION, schema);
+		private RelationSchemaWrapper(Schema<Relation> schema, boolean reportKindErrors) {
+			super(AnnotationKind.RELATION, schema, reportKindErrors);
 		}
 
 		@Override
@@ -127,14 +166,14 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 		}
 
 		@Override
-		public Schema<Annotation> reduce() {
-			return new RelationSchemaWrapper(schema.reduce());
+		protected Schema<Annotation> wrap(Schema<Relation> schema, boolean reportKindErrors) {
+			return new RelationSchemaWrapper(schema, reportKindErrors);
 		}
 	}
 
 	private static class ModifierSchemaWrapper extends AnnotationSchemaWrapper<Modifier> {
-		private ModifierSchemaWrapper(Schema<Modifier> schema) {
-			super(AnnotationKind.MODIFIER, schema);
+		private ModifierSchemaWrapper(Schema<Modifier> schema, boolean reportKindErrors) {
+			super(AnnotationKind.MODIFIER, schema, reportKindErrors);
 		}
 
 		@Override
@@ -143,14 +182,14 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 		}
 
 		@Override
-		public Schema<Annotation> reduce() {
-			return new ModifierSchemaWrapper(schema.reduce());
+		protected Schema<Annotation> wrap(Schema<Modifier> schema, boolean reportKindErrors) {
+			return new ModifierSchemaWrapper(schema, reportKindErrors);
 		}
 	}
 	
 	private static class NormalizationSchemaWrapper extends AnnotationSchemaWrapper<Normalization> {
-		private NormalizationSchemaWrapper(Schema<Normalization> schema) {
-			super(AnnotationKind.NORMALIZATION, schema);
+		private NormalizationSchemaWrapper(Schema<Normalization> schema, boolean reportKindErrors) {
+			super(AnnotationKind.NORMALIZATION, schema, reportKindErrors);
 		}
 
 		@Override
@@ -159,17 +198,35 @@ public class AnnotationSchemaTypeDispatch implements Schema<Annotation> {
 		}
 
 		@Override
-		public Schema<Annotation> reduce() {
-			return new NormalizationSchemaWrapper(schema.reduce());
+		protected Schema<Annotation> wrap(Schema<Normalization> schema, boolean reportKindErrors) {
+			return new NormalizationSchemaWrapper(schema, reportKindErrors);
 		}
 	}
 
 	@Override
 	public Schema<Annotation> reduce() {
-		AnnotationSchemaTypeDispatch result = new AnnotationSchemaTypeDispatch();
+		AnnotationSchemaTypeDispatch result = new AnnotationSchemaTypeDispatch(reportTypeErrors);
 		for (Map.Entry<String,Schema<Annotation>> e : typeSchemas.entrySet()) {
 			result.addTypeSchema(e.getKey(), e.getValue().reduce());
 		}
 		return result;
 	}
+
+	@Override
+	public Schema<Annotation> getReferenceSchema() {
+		AnnotationSchemaTypeDispatch result = new AnnotationSchemaTypeDispatch(true);
+		for (Map.Entry<String,Schema<Annotation>> e : typeSchemas.entrySet()) {
+			result.addTypeSchema(e.getKey(), Schemas.getReferenceSchema(e.getValue()));
+		}
+		return result;
+	}
+
+	@Override
+	public Schema<Annotation> getPredictionSchema() {
+		AnnotationSchemaTypeDispatch result = new AnnotationSchemaTypeDispatch(false);
+		for (Map.Entry<String,Schema<Annotation>> e : typeSchemas.entrySet()) {
+			result.addTypeSchema(e.getKey(), Schemas.getPredictionSchema(e.getValue()));
+		}
+		return result;
+	}
 }
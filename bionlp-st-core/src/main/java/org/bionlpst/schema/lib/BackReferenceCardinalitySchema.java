@@ -1,10 +1,10 @@
 package org.bionlpst.schema.lib;
 
-import java.util.ArrayList;
-import java.util.Collection;
-
 import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.AnnotationSet;
+import org.bionlpst.corpus.AnnotationSetSelector;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
@@ -14,7 +14,7 @@ import org.bionlpst.util.message.CheckLogger;
  *
  * @param <T>
  */
-public class BackReferenceCardinalitySchema<T extends Annotation> implements Schema<T> {
+public class BackReferenceCardinalitySchema<T extends Annotation> implements IncrementalSchema<T> {
 	private final String type;
 	private final int atLeast;
 	private final int atMost;
@@ -32,8 +32,7 @@ public class BackReferenceCardinalitySchema<T extends Annotation> implements Sch
 		this.atMost = atMost;
 	}
 	
-	private void check(CheckLogger logger, Annotation item, Collection<Annotation> backRefs) {
-		int n = backRefs.size();
+	private void check(CheckLogger logger, Annotation item, int n) {
 		if (atLeast == atMost && n != atLeast) {
 			logger.serious(item.getLocation(), "expected " + atLeast + " references from " + type + ", got " + n);
 			return;
@@ -48,43 +47,29 @@ public class BackReferenceCardinalitySchema<T extends Annotation> implements Sch
 		}
 	}
 
-	@Override
-	public void check(CheckLogger logger, T item) {
-		Collection<Annotation> referenceBackRefs = new ArrayList<Annotation>();
-		Collection<Annotation> predictionBackRefs = new ArrayList<Annotation>();
+	/*
+	 * Counts back-references from input and prediction annotations, reference back-references are not checked.
+	 */
+	private int countPredictionBackReferences(Annotation item) {
+		int result = 0;
 		for (Annotation br : item.getBackReferences()) {
-			if (br.getType().equals(type)) {
-				AnnotationSet aset = br.getAnnotationSet();
-				switch (aset.getSelector()) {
-				case INPUT: {
-					referenceBackRefs.add(br);
-					predictionBackRefs.add(br);
-					break;
-				}
-				case PREDICTION: {
-					predictionBackRefs.add(br);
-					break;
-				}
-				case REFERENCE: {
-					referenceBackRefs.add(br);
-					break;
-				}
-				}
+			if (br.getType().equals(type) && br.getAnnotationSet().getSelector() != AnnotationSetSelector.REFERENCE) {
+				result++;
 			}
 		}
+		return result;
+	}
+
+	@Override
+	public void check(CheckLogger logger, T item) {
 		AnnotationSet aset = item.getAnnotationSet();
 		switch (aset.getSelector()) {
-		case INPUT: {
-			//check(logger, item, referenceBackRefs);
-			check(logger, item, predictionBackRefs);
-			break;
-		}
+		case INPUT:
 		case PREDICTION: {
-			check(logger, item, predictionBackRefs);
+			check(logger, item, countPredictionBackReferences(item));
 			break;
 		}
 		case REFERENCE: {
-			//check(logger, item, referenceBackRefs);
 			break;
 		}
 		}
@@ -94,4 +79,14 @@ public class BackReferenceCardinalitySchema<T extends Annotation> implements Sch
 	public Schema<T> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<T> getReferenceSchema() {
+		return new NullSchema<T>();
+	}
+
+	@Override
+	public Schema<T> getPredictionSchema() {
+		return this;
+	}
 }
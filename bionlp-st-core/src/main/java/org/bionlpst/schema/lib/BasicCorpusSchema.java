@@ -1,16 +1,25 @@
 package org.bionlpst.schema.lib;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.bionlpst.corpus.Corpus;
 import org.bionlpst.corpus.Document;
+import org.bionlpst.schema.IncrementalSchema;
 import org.bionlpst.schema.Schema;
+import org.bionlpst.schema.Schemas;
+import org.bionlpst.util.Util;
 import org.bionlpst.util.message.CheckLogger;
+import org.bionlpst.util.message.ConcurrentCheckLogger;
 
 /**
  * Schema that checks each document of a corpus against a document schema.
  * @author rbossy
  *
  */
-public class BasicCorpusSchema implements Schema<Corpus> {
+public class BasicCorpusSchema implements IncrementalSchema<Corpus> {
 	private final Schema<Document> documentSchema;
 
 	public BasicCorpusSchema(Schema<Document> documentSchema) {
@@ -25,12 +34,50 @@ public class BasicCorpusSchema implements Schema<Corpus> {
 	@Override
 	public void check(CheckLogger logger, Corpus item) {
 		for (Document doc : item.getDocuments()) {
+			if (logger.hasReachedErrorLimit()) {
+				break;
+			}
 			documentSchema.check(logger, doc);
 		}
 	}
 
+	/**
+	 * Checks the specified corpus, documents are checked concurrently.
+	 * Messages are collected in a concurrent logger, then added to the specified logger sorted by location.
+	 * The document schema must be safe to use concurrently on different documents.
+	 * @param logger message container where to store warnings and errors.
+	 * @param item corpus to check.
+	 * @param executor executor.
+	 */
+	public void check(CheckLogger logger, Corpus item, ExecutorService executor) {
+		final ConcurrentCheckLogger concurrentLogger = new ConcurrentCheckLogger(logger);
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (final Document doc : item.getDocuments()) {
+			futures.add(executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					if (!concurrentLogger.hasReachedErrorLimit()) {
+						documentSchema.check(concurrentLogger, doc);
+					}
+				}
+			}));
+		}
+		Util.waitAll(futures);
+		logger.addMessages(concurrentLogger);
+	}
+
 	@Override
 	public Schema<Corpus> reduce() {
 		return new BasicCorpusSchema(documentSchema.reduce());
 	}
+
+	@Override
+	public Schema<Corpus> getReferenceSchema() {
+		return new BasicCorpusSchema(Schemas.getReferenceSchema(documentSchema));
+	}
+
+	@Override
+	public Schema<Corpus> getPredictionSchema() {
+		return new BasicCorpusSchema(Schemas.getPredictionSchema(documentSchema));
+	}
 }
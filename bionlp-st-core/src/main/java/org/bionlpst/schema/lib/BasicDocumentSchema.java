@@ -1,21 +1,54 @@
 package org.bionlpst.schema.lib;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+
 import org.bionlpst.corpus.Annotation;
+import org.bionlpst.corpus.AnnotationSetSelector;
 import org.bionlpst.corpus.Document;
+import org.bionlpst.schema.IncrementalSchema;
 import org.bionlpst.schema.Schema;
+import org.bionlpst.schema.Schemas;
 import org.bionlpst.util.message.CheckLogger;
 
 /**
  * Schema that checks all annotations in the checked document.
+ * The reference schema checks reference annotations since they can only depend on reference and input annotations.
+ * Input annotations are split by rule: the reference schema performs the checks that do not depend on back-references, and the prediction schema performs the checks that depend on back-references since input annotations may be referenced by predictions.
+ * The prediction schema checks prediction annotations against all rules.
  * @author rbossy
  *
  */
-public class BasicDocumentSchema implements Schema<Document> {
+public class BasicDocumentSchema implements IncrementalSchema<Document> {
 	private final Schema<Annotation> annotationSchema;
+	private final Map<AnnotationSetSelector,Schema<Annotation>> selectorSchemas;
 
+	/**
+	 * Creates a new document schema that checks annotations in the specified annotation sets.
+	 * @param annotationSchema annotation schema.
+	 * @param selectors annotation sets to check.
+	 */
+	public BasicDocumentSchema(Schema<Annotation> annotationSchema, Collection<AnnotationSetSelector> selectors) {
+		this(annotationSchema, new EnumMap<AnnotationSetSelector,Schema<Annotation>>(AnnotationSetSelector.class));
+		for (AnnotationSetSelector selector : selectors) {
+			selectorSchemas.put(selector, annotationSchema);
+		}
+	}
+
+	/**
+	 * Creates a new document schema that checks annotations in all annotation sets.
+	 * @param annotationSchema annotation schema.
+	 */
 	public BasicDocumentSchema(Schema<Annotation> annotationSchema) {
+		this(annotationSchema, EnumSet.allOf(AnnotationSetSelector.class));
+	}
+
+	private BasicDocumentSchema(Schema<Annotation> annotationSchema, Map<AnnotationSetSelector,Schema<Annotation>> selectorSchemas) {
 		super();
 		this.annotationSchema = annotationSchema;
+		this.selectorSchemas = selectorSchemas;
 	}
 
 	public Schema<Annotation> getAnnotationSchema() {
@@ -24,19 +57,48 @@ public class BasicDocumentSchema implements Schema<Document> {
 
 	@Override
 	public void check(CheckLogger logger, Document item) {
-		for (Annotation ann : item.getInputAnnotationSet().getAnnotations()) {
-			annotationSchema.check(logger, ann);
-		}
-		for (Annotation ann : item.getReferenceAnnotationSet().getAnnotations()) {
-			annotationSchema.check(logger, ann);
-		}
-		for (Annotation ann : item.getPredictionAnnotationSet().getAnnotations()) {
-			annotationSchema.check(logger, ann);
+		for (Map.Entry<AnnotationSetSelector,Schema<Annotation>> e : selectorSchemas.entrySet()) {
+			Schema<Annotation> schema = e.getValue();
+			for (Annotation ann : e.getKey().getAnnotationSet(item).getAnnotations()) {
+				if (logger.hasReachedErrorLimit()) {
+					return;
+				}
+				schema.check(logger, ann);
+			}
 		}
 	}
 
 	@Override
 	public Schema<Document> reduce() {
-		return new BasicDocumentSchema(annotationSchema.reduce());
+		Map<AnnotationSetSelector,Schema<Annotation>> reduced = new EnumMap<AnnotationSetSelector,Schema<Annotation>>(AnnotationSetSelector.class);
+		for (Map.Entry<AnnotationSetSelector,Schema<Annotation>> e : selectorSchemas.entrySet()) {
+			reduced.put(e.getKey(), e.getValue().reduce());
+		}
+		return new BasicDocumentSchema(annotationSchema.reduce(), reduced);
+	}
+
+	@Override
+	public Schema<Document> getReferenceSchema() {
+		return split(AnnotationSetSelector.REFERENCE, true);
+	}
+
+	@Override
+	public Schema<Document> getPredictionSchema() {
+		return split(AnnotationSetSelector.PREDICTION, false);
+	}
+
+	/*
+	 * Annotations in the specified set are checked against all rules, input annotations are checked against either the reference or the prediction part of the rules.
+	 */
+	private Schema<Document> split(AnnotationSetSelector selector, boolean reference) {
+		Map<AnnotationSetSelector,Schema<Annotation>> selected = new EnumMap<AnnotationSetSelector,Schema<Annotation>>(AnnotationSetSelector.class);
+		if (selectorSchemas.containsKey(AnnotationSetSelector.INPUT)) {
+			Schema<Annotation> inputSchema = selectorSchemas.get(AnnotationSetSelector.INPUT);
+			selected.put(AnnotationSetSelector.INPUT, reference ? Schemas.getReferenceSchema(inputSchema) : Schemas.getPredictionSchema(inputSchema));
+		}
+		if (selectorSchemas.containsKey(selector)) {
+			selected.put(selector, selectorSchemas.get(selector));
+		}
+		return new BasicDocumentSchema(annotationSchema, selected);
 	}
 }
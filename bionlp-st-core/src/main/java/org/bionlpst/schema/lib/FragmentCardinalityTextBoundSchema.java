@@ -3,6 +3,8 @@ package org.bionlpst.schema.lib;
 import java.util.List;
 
 import org.bionlpst.corpus.TextBound;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.fragment.ImmutableFragment;
 import org.bionlpst.util.message.CheckLogger;
@@ -12,7 +14,7 @@ import org.bionlpst.util.message.CheckLogger;
  * @author rbossy
  *
  */
-public class FragmentCardinalityTextBoundSchema implements Schema<TextBound> {
+public class FragmentCardinalityTextBoundSchema implements IncrementalSchema<TextBound> {
 	private final int maxFragments;
 
 	/**
@@ -40,4 +42,14 @@ public class FragmentCardinalityTextBoundSchema implements Schema<TextBound> {
 	public Schema<TextBound> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<TextBound> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<TextBound> getPredictionSchema() {
+		return new NullSchema<TextBound>();
+	}
 }
@@ -5,12 +5,13 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 
 import org.bionlpst.corpus.Relation;
+import org.bionlpst.schema.IncrementalSchema;
 import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.Util;
 import org.bionlpst.util.message.CheckLogger;
 
-public class MandatoryAlternativeRelationArgumentSchema implements Schema<Relation> {
+public class MandatoryAlternativeRelationArgumentSchema implements IncrementalSchema<Relation> {
 	private final boolean exclusive;
 	private final Collection<String> alternativeRoles = new LinkedHashSet<String>();
 
@@ -57,6 +58,14 @@ public class MandatoryAlternativeRelationArgumentSchema implements Schema<Relati
 		}
 		return this;
 	}
-	
-	
+
+	@Override
+	public Schema<Relation> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Relation> getPredictionSchema() {
+		return new NullSchema<Relation>();
+	}
 }
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.bionlpst.corpus.Relation;
+import org.bionlpst.schema.IncrementalSchema;
 import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
@@ -14,7 +15,7 @@ import org.bionlpst.util.message.CheckLogger;
  * @author rbossy
  *
  */
-public class MandatoryRelationArgumentsSchema implements Schema<Relation> {
+public class MandatoryRelationArgumentsSchema implements IncrementalSchema<Relation> {
 	private final Collection<String> mandatoryRoles = new HashSet<String>();
 	
 	public MandatoryRelationArgumentsSchema(Collection<String> mandatoryRoles) {
@@ -46,4 +47,14 @@ public class MandatoryRelationArgumentsSchema implements Schema<Relation> {
 		}
 		return this;
 	}
+
+	@Override
+	public Schema<Relation> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Relation> getPredictionSchema() {
+		return new NullSchema<Relation>();
+	}
 }
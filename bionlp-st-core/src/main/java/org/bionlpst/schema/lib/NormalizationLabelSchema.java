@@ -3,10 +3,12 @@ package org.bionlpst.schema.lib;
 import java.util.Map;
 
 import org.bionlpst.corpus.Normalization;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
-public class NormalizationLabelSchema implements Schema<Normalization> {
+public class NormalizationLabelSchema implements IncrementalSchema<Normalization> {
 	private final Map<String,String> labels;
 
 	public NormalizationLabelSchema(Map<String, String> labels) {
@@ -27,4 +29,14 @@ public class NormalizationLabelSchema implements Schema<Normalization> {
 	public Schema<Normalization> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<Normalization> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Normalization> getPredictionSchema() {
+		return new NullSchema<Normalization>();
+	}
 }
@@ -3,6 +3,8 @@ package org.bionlpst.schema.lib;
 import java.util.Collection;
 
 import org.bionlpst.corpus.Normalization;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
@@ -11,7 +13,7 @@ import org.bionlpst.util.message.CheckLogger;
  * @author rbossy
  *
  */
-public class NormalizationVocabularySchema implements Schema<Normalization> {
+public class NormalizationVocabularySchema implements IncrementalSchema<Normalization> {
 	private final Collection<String> allowedValues;
 
 	public NormalizationVocabularySchema(Collection<String> allowedValues) {
@@ -31,4 +33,14 @@ public class NormalizationVocabularySchema implements Schema<Normalization> {
 	public Schema<Normalization> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<Normalization> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Normalization> getPredictionSchema() {
+		return new NullSchema<Normalization>();
+	}
 }
@@ -8,6 +8,8 @@ import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.AnnotationKind;
 import org.bionlpst.corpus.DummyAnnotation;
 import org.bionlpst.corpus.Relation;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
@@ -16,7 +18,7 @@ import org.bionlpst.util.message.CheckLogger;
  * @author rbossy
  *
  */
-public class RelationArgumentTypecheckSchema implements Schema<Relation> {
+public class RelationArgumentTypecheckSchema implements IncrementalSchema<Relation> {
 	private final String role;
 	private final Collection<String> allowedTypes = new HashSet<String>();
 
@@ -58,4 +60,14 @@ public class RelationArgumentTypecheckSchema implements Schema<Relation> {
 	public Schema<Relation> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<Relation> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<Relation> getPredictionSchema() {
+		return new NullSchema<Relation>();
+	}
 }
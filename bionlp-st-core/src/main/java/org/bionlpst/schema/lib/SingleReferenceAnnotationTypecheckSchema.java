@@ -10,6 +10,8 @@ import org.bionlpst.corpus.SingleReferenceAnnotation;
 import org.bionlpst.corpus.Annotation;
 import org.bionlpst.corpus.AnnotationKind;
 import org.bionlpst.corpus.DummyAnnotation;
+import org.bionlpst.schema.IncrementalSchema;
+import org.bionlpst.schema.NullSchema;
 import org.bionlpst.schema.Schema;
 import org.bionlpst.util.message.CheckLogger;
 
@@ -19,7 +21,7 @@ import org.bionlpst.util.message.CheckLogger;
  *
  * @param <T>
  */
-public class SingleReferenceAnnotationTypecheckSchema<T extends SingleReferenceAnnotation> implements Schema<T> {
+public class SingleReferenceAnnotationTypecheckSchema<T extends SingleReferenceAnnotation> implements IncrementalSchema<T> {
 	private final Collection<String> allowedTypes = new HashSet<String>();
 	public SingleReferenceAnnotationTypecheckSchema(String... allowedTypes) {
 		this(Arrays.asList(allowedTypes));
@@ -57,4 +59,14 @@ public class SingleReferenceAnnotationTypecheckSchema<T extends SingleReferenceA
 	public Schema<T> reduce() {
 		return this;
 	}
+
+	@Override
+	public Schema<T> getReferenceSchema() {
+		return this;
+	}
+
+	@Override
+	public Schema<T> getPredictionSchema() {
+		return new NullSchema<T>();
+	}
 }
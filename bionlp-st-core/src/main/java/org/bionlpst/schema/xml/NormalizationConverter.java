@@ -1,9 +1,10 @@
 package org.bionlpst.schema.xml;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 
 import org.bionlpst.BioNLPSTException;
@@ -14,13 +15,52 @@ import org.bionlpst.schema.lib.BackReferenceCardinalitySchema;
 import org.bionlpst.schema.lib.NormalizationLabelSchema;
 import org.bionlpst.schema.lib.NormalizationVocabularySchema;
 import org.bionlpst.schema.lib.SingleReferenceAnnotationTypecheckSchema;
+import org.bionlpst.util.ResourceRegistry;
 import org.bionlpst.util.SourceStream;
+import org.bionlpst.util.Vocabulary;
 import org.bionlpst.util.dom.DOMElementConverter;
 import org.bionlpst.util.dom.DOMUtil;
 import org.bionlpst.util.dom.SourceStreamConverter;
 import org.w3c.dom.Element;
 
 public class NormalizationConverter implements DOMElementConverter<Schema<Normalization>> {
+	private static final ResourceRegistry.Loader<Collection<String>> VOCABULARY = new ResourceRegistry.Loader<Collection<String>>() {
+		@Override
+		public String getKey() {
+			return "vocabulary";
+		}
+
+		@Override
+		public Collection<String> load(BufferedReader r) throws IOException {
+			return Vocabulary.read(r, false);
+		}
+	};
+
+	private static final ResourceRegistry.Loader<Map<String,String>> LABELS = new ResourceRegistry.Loader<Map<String,String>>() {
+		@Override
+		public String getKey() {
+			return "labels";
+		}
+
+		@Override
+		public Map<String,String> load(BufferedReader r) throws IOException {
+			Map<String,String> result = new HashMap<String,String>();
+			while (true) {
+				String line = r.readLine();
+				if (line == null) {
+					break;
+				}
+				int tab = line.indexOf('\t');
+				if (tab != -1) {
+					String ref = line.substring(0, tab);
+					String label =  line.substring(tab+1);
+					result.put(ref, label);
+				}
+			}
+			return Collections.unmodifiableMap(result);
+		}
+	};
+
 	private final ClassLoader classLoader;
 	
 	public NormalizationConverter(ClassLoader classLoader) {
@@ -61,37 +101,14 @@ public class NormalizationConverter implements DOMElementConverter<Schema<Normal
 				}
 				case "reference-vocabulary": {
 					SourceStream source = new SourceStreamConverter(classLoader).convert(child);
-					Collection<String> allowedValues = new HashSet<String>();
-					try (BufferedReader r = source.openBufferedReader()) {
-						while (true) {
-							String line = r.readLine();
-							if (line == null) {
-								break;
-							}
-							allowedValues.add(line.trim());
-						}
-					}
+					Collection<String> allowedValues = ResourceRegistry.SHARED.get(source, VOCABULARY);
 					Schema<Normalization> schema = new NormalizationVocabularySchema(allowedValues);
 					result.addCompound(schema);
 					break;
 				}
 				case "labels": {
 					SourceStream source = new SourceStreamConverter(classLoader).convert(child);
-					Map<String,String> labels = new HashMap<String,String>();
-					try (BufferedReader r = source.openBufferedReader()) {
-						while (true) {
-							String line = r.readLine();
-							if (line == null) {
-								break;
-							}
-							int tab = line.indexOf('\t');
-							if (tab != -1) {
-								String ref = line.substring(0, tab);
-								String label =  line.substring(tab+1);
-								labels.put(ref, label);
-							}
-						}
-					}
+					Map<String,String> labels = ResourceRegistry.SHARED.get(source, LABELS);
 					Schema<Normalization> schema = new NormalizationLabelSchema(labels);
 					result.addCompound(schema);
 					break;
@@ -0,0 +1,103 @@
+package org.bionlpst.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Unmodifiable map view of an array of keys and an array of values of the same length.
+ * Entries are in the order of the arrays, lookups scan the keys array, so this map is meant for a handful of entries.
+ * The arrays are not copied, changes in the arrays are visible in the map.
+ * @author rbossy
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class ArrayMap<K,V> extends AbstractMap<K,V> {
+	private final K[] keys;
+	private final V[] values;
+
+	/**
+	 * Creates a new map view.
+	 * @param keys keys.
+	 * @param values values, values[i] is the value of keys[i].
+	 * @throws IllegalArgumentException if the arrays do not have the same length.
+	 */
+	public ArrayMap(K[] keys, V[] values) throws IllegalArgumentException {
+		super();
+		if (keys.length != values.length) {
+			throw new IllegalArgumentException();
+		}
+		this.keys = keys;
+		this.values = values;
+	}
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < keys.length; ++i) {
+			K k = keys[i];
+			if (k == key || k.equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) != -1;
+	}
+
+	@Override
+	public V get(Object key) {
+		int i = indexOf(key);
+		if (i == -1) {
+			return null;
+		}
+		return values[i];
+	}
+
+	@Override
+	public Set<Map.Entry<K,V>> entrySet() {
+		return new AbstractSet<Map.Entry<K,V>>() {
+			@Override
+			public Iterator<Map.Entry<K,V>> iterator() {
+				return new Iterator<Map.Entry<K,V>>() {
+					private int index = 0;
+
+					@Override
+					public boolean hasNext() {
+						return index < keys.length;
+					}
+
+					@Override
+					public Map.Entry<K,V> next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						Map.Entry<K,V> result = new SimpleImmutableEntry<K,V>(keys[index], values[index]);
+						index++;
+						return result;
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return keys.length;
+			}
+		};
+	}
+}
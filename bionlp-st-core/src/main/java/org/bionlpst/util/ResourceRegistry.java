@@ -0,0 +1,132 @@
+package org.bionlpst.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of resources loaded from the class path.
+ * Each resource is read once for each form, and the same instance is returned to all callers, thus loaded forms must be immutable.
+ * Resources that are not in the class path are read on each request since files and URLs may change.
+ * @author rbossy
+ *
+ */
+public class ResourceRegistry {
+	/**
+	 * Registry shared by all task definitions.
+	 */
+	public static final ResourceRegistry SHARED = new ResourceRegistry();
+
+	private final Map<Key,Entry<?>> entries = new HashMap<Key,Entry<?>>();
+
+	public ResourceRegistry() {
+		super();
+	}
+
+	/**
+	 * Form of a resource.
+	 * @author rbossy
+	 *
+	 * @param <T>
+	 */
+	public static interface Loader<T> {
+		/**
+		 * Returns a key that identifies this form, two loaders with the same key must build equivalent objects.
+		 * @return a key that identifies this form.
+		 */
+		String getKey();
+
+		/**
+		 * Builds this form from the specified resource contents.
+		 * @param r resource contents.
+		 * @return the loaded form, it must not be modified afterwards.
+		 * @throws IOException
+		 */
+		T load(BufferedReader r) throws IOException;
+	}
+
+	/**
+	 * Returns the specified resource in the specified form.
+	 * @param source resource stream.
+	 * @param loader form.
+	 * @return the resource in the specified form, if the source is a class path resource, then the same instance is returned to all callers.
+	 * @throws IOException
+	 */
+	public <T> T get(SourceStream source, Loader<T> loader) throws IOException {
+		if (source instanceof ResourceSourceStream) {
+			ResourceSourceStream resource = (ResourceSourceStream) source;
+			Entry<T> entry = getEntry(new Key(resource.getClassLoader(), resource.getResourceName(), loader.getKey()));
+			return entry.get(source, loader);
+		}
+		return load(source, loader);
+	}
+
+	private static <T> T load(SourceStream source, Loader<T> loader) throws IOException {
+		try (BufferedReader r = source.openBufferedReader()) {
+			return loader.load(r);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized <T> Entry<T> getEntry(Key key) {
+		if (entries.containsKey(key)) {
+			return (Entry<T>) entries.get(key);
+		}
+		Entry<T> result = new Entry<T>();
+		entries.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Removes all resources from this registry. Instances already handed out are not affected.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	private static class Entry<T> {
+		private T value = null;
+
+		private Entry() {
+			super();
+		}
+
+		private synchronized T get(SourceStream source, Loader<T> loader) throws IOException {
+			if (value == null) {
+				value = load(source, loader);
+			}
+			return value;
+		}
+	}
+
+	private static final class Key {
+		private final ClassLoader classLoader;
+		private final String resourceName;
+		private final String loaderKey;
+
+		private Key(ClassLoader classLoader, String resourceName, String loaderKey) {
+			super();
+			this.classLoader = classLoader;
+			this.resourceName = resourceName;
+			this.loaderKey = loaderKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(classLoader) * 31 + resourceName.hashCode()) * 31 + loaderKey.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return classLoader == other.classLoader && resourceName.equals(other.resourceName) && loaderKey.equals(other.loaderKey);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package org.bionlpst.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Table of canonical instances of strings used as symbols, like annotation types and argument roles.
+ * The table can be read and filled concurrently without locking.
+ * Symbols are never removed, so the table stops accepting new symbols once it holds its capacity: further symbols are returned as is, unexpected symbols read from predictions cannot grow the table indefinitely.
+ * @author rbossy
+ *
+ */
+public class SymbolTable {
+	/**
+	 * Capacity of the shared symbol table.
+	 */
+	public static final int SHARED_CAPACITY = 100000;
+
+	/**
+	 * Symbol table shared by all annotations.
+	 */
+	public static final SymbolTable SHARED = new SymbolTable(SHARED_CAPACITY);
+
+	private final ConcurrentMap<String,String> symbols = new ConcurrentHashMap<String,String>();
+	private final int capacity;
+
+	/**
+	 * Creates a new symbol table.
+	 * @param capacity maximum number of symbols in this table.
+	 */
+	public SymbolTable(int capacity) {
+		super();
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Returns the canonical instance of the specified symbol.
+	 * @param symbol symbol.
+	 * @return a string equal to the specified symbol, the same instance is returned for equal symbols unless the table is full.
+	 * @throws NullPointerException if the specified symbol is null.
+	 */
+	public String get(String symbol) throws NullPointerException {
+		Util.notnull(symbol);
+		String result = symbols.get(symbol);
+		if (result != null) {
+			return result;
+		}
+		if (symbols.size() >= capacity) {
+			return symbol;
+		}
+		result = symbols.putIfAbsent(symbol, symbol);
+		if (result != null) {
+			return result;
+		}
+		return symbol;
+	}
+}
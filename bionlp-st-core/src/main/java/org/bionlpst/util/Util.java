@@ -7,6 +7,10 @@ import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.bionlpst.BioNLPSTException;
 
 /**
  * Miscellaneous utilities.
@@ -140,6 +144,26 @@ public enum Util {
 		return c;
 	}
 	
+	/**
+	 * Waits for the completion of all the specified tasks.
+	 * @param futures tasks.
+	 * @throws BioNLPSTException if the current thread was interrupted, or if one of the tasks threw an exception.
+	 */
+	public static void waitAll(Collection<? extends Future<?>> futures) throws BioNLPSTException {
+		try {
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BioNLPSTException(e);
+		}
+		catch (ExecutionException e) {
+			throw new BioNLPSTException(e.getCause());
+		}
+	}
+
 	public static <T> T instantiateAndCast(String className, Class<T> superClass) throws InstantiationException, IllegalAccessException, ClassNotFoundException {
 		Class<?> klass = Class.forName(className);
 		Object obj = klass.newInstance();
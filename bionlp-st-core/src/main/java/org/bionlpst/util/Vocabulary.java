@@ -0,0 +1,288 @@
+package org.bionlpst.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable compact set of strings.
+ * Strings that are the canonical decimal representation of a number are stored in a sorted array of longs.
+ * Other strings are sorted and front-coded in a single character array: strings are grouped in blocks, the first string of each block is stored in full, the others are stored as the length of the prefix shared with the previous string followed by the remaining characters.
+ * Lookups search the numbers array, or search the block then scan the block.
+ * @author rbossy
+ *
+ */
+public class Vocabulary extends AbstractSet<String> {
+	private static final int BLOCK_SIZE = 16;
+	private static final int MAX_NUMBER_DIGITS = 18;
+
+	private final long[] numbers;
+	private final int stringCount;
+	private final char[] data;
+	private final int[] blocks;
+	private final int maxLength;
+
+	private Vocabulary(long[] numbers, List<String> strings) {
+		super();
+		this.numbers = numbers;
+		this.stringCount = strings.size();
+		blocks = new int[(stringCount + BLOCK_SIZE - 1) / BLOCK_SIZE];
+		StringBuilder sb = new StringBuilder();
+		String previous = "";
+		int maxLength = 0;
+		for (int i = 0; i < stringCount; ++i) {
+			String s = strings.get(i);
+			int prefix = 0;
+			if (i % BLOCK_SIZE == 0) {
+				blocks[i / BLOCK_SIZE] = sb.length();
+			}
+			else {
+				prefix = getSharedPrefixLength(previous, s);
+			}
+			appendInt(sb, prefix);
+			appendInt(sb, s.length() - prefix);
+			sb.append(s, prefix, s.length());
+			maxLength = Math.max(maxLength, s.length());
+			previous = s;
+		}
+		data = new char[sb.length()];
+		sb.getChars(0, data.length, data, 0);
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Creates a vocabulary containing the specified values.
+	 * @param values values.
+	 * @return a vocabulary containing the specified values.
+	 */
+	public static Vocabulary create(Collection<String> values) {
+		long[] numbers = new long[values.size()];
+		int n = 0;
+		List<String> strings = new ArrayList<String>();
+		for (String s : values) {
+			long number = parseNumber(s);
+			if (number == -1) {
+				strings.add(s);
+			}
+			else {
+				numbers[n++] = number;
+			}
+		}
+		return create(numbers, n, strings);
+	}
+
+	/**
+	 * Creates a vocabulary containing the trimmed lines read from the specified stream.
+	 * @param r stream.
+	 * @param skipEmptyLines either to skip lines that are empty after trimming.
+	 * @return a vocabulary containing the trimmed lines read from the specified stream.
+	 * @throws IOException
+	 */
+	public static Vocabulary read(BufferedReader r, boolean skipEmptyLines) throws IOException {
+		long[] numbers = new long[1024];
+		int n = 0;
+		List<String> strings = new ArrayList<String>();
+		while (true) {
+			String line = r.readLine();
+			if (line == null) {
+				break;
+			}
+			line = line.trim();
+			if (skipEmptyLines && line.isEmpty()) {
+				continue;
+			}
+			long number = parseNumber(line);
+			if (number == -1) {
+				strings.add(line);
+			}
+			else {
+				if (n == numbers.length) {
+					numbers = Arrays.copyOf(numbers, n * 2);
+				}
+				numbers[n++] = number;
+			}
+		}
+		return create(numbers, n, strings);
+	}
+
+	private static Vocabulary create(long[] numbers, int n, List<String> strings) {
+		Arrays.sort(numbers, 0, n);
+		int distinct = 0;
+		for (int i = 0; i < n; ++i) {
+			if (distinct == 0 || numbers[i] != numbers[distinct - 1]) {
+				numbers[distinct++] = numbers[i];
+			}
+		}
+		Collections.sort(strings);
+		List<String> distinctStrings = new ArrayList<String>(strings.size());
+		for (String s : strings) {
+			if (distinctStrings.isEmpty() || !s.equals(distinctStrings.get(distinctStrings.size() - 1))) {
+				distinctStrings.add(s);
+			}
+		}
+		return new Vocabulary(Arrays.copyOf(numbers, distinct), distinctStrings);
+	}
+
+	/**
+	 * Returns the number represented by the specified string.
+	 * @param s string.
+	 * @return the number represented by the specified string, -1 if the string is not the canonical representation of a number that fits in a long.
+	 */
+	private static long parseNumber(String s) {
+		int len = s.length();
+		if (len == 0 || len > MAX_NUMBER_DIGITS) {
+			return -1;
+		}
+		if (len > 1 && s.charAt(0) == '0') {
+			return -1;
+		}
+		long result = 0;
+		for (int i = 0; i < len; ++i) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			result = result * 10 + (c - '0');
+		}
+		return result;
+	}
+
+	private static int getSharedPrefixLength(String a, String b) {
+		int len = Math.min(a.length(), b.length());
+		for (int i = 0; i < len; ++i) {
+			if (a.charAt(i) != b.charAt(i)) {
+				return i;
+			}
+		}
+		return len;
+	}
+
+	private static void appendInt(StringBuilder sb, int value) {
+		sb.append((char) (value >>> 16));
+		sb.append((char) value);
+	}
+
+	private int readInt(int pos) {
+		return (data[pos] << 16) | data[pos + 1];
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof String)) {
+			return false;
+		}
+		String s = (String) o;
+		long number = parseNumber(s);
+		if (number == -1) {
+			return containsString(s);
+		}
+		return Arrays.binarySearch(numbers, number) >= 0;
+	}
+
+	private boolean containsString(String s) {
+		int lo = 0;
+		int hi = blocks.length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int pos = blocks[mid] + 2;
+			int len = readInt(pos);
+			int cmp = compare(data, pos + 2, len, s);
+			if (cmp == 0) {
+				return true;
+			}
+			if (cmp < 0) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid - 1;
+			}
+		}
+		if (hi < 0) {
+			return false;
+		}
+		int pos = blocks[hi];
+		int end = hi + 1 < blocks.length ? blocks[hi + 1] : data.length;
+		char[] buf = new char[maxLength];
+		while (pos < end) {
+			int prefix = readInt(pos);
+			int suffix = readInt(pos + 2);
+			pos += 4;
+			System.arraycopy(data, pos, buf, prefix, suffix);
+			pos += suffix;
+			int cmp = compare(buf, 0, prefix + suffix, s);
+			if (cmp == 0) {
+				return true;
+			}
+			if (cmp > 0) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private static int compare(char[] chars, int offset, int len, String s) {
+		int n = Math.min(len, s.length());
+		for (int i = 0; i < n; ++i) {
+			char c = chars[offset + i];
+			char d = s.charAt(i);
+			if (c != d) {
+				return c - d;
+			}
+		}
+		return len - s.length();
+	}
+
+	@Override
+	public int size() {
+		return numbers.length + stringCount;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new VocabularyIterator();
+	}
+
+	private class VocabularyIterator implements Iterator<String> {
+		private int index = 0;
+		private int pos = 0;
+		private final char[] buf = new char[maxLength];
+
+		private VocabularyIterator() {
+			super();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < size();
+		}
+
+		@Override
+		public String next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (index < numbers.length) {
+				return Long.toString(numbers[index++]);
+			}
+			int prefix = readInt(pos);
+			int suffix = readInt(pos + 2);
+			pos += 4;
+			System.arraycopy(data, pos, buf, prefix, suffix);
+			pos += suffix;
+			index++;
+			return new String(buf, 0, prefix + suffix);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
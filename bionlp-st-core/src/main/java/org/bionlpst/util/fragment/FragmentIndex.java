@@ -0,0 +1,138 @@
+package org.bionlpst.util.fragment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static interval index over fragments.
+ * Fragments are sorted by start position and stored in an implicit balanced tree where each node records the maximum end position of its subtree.
+ * Queries for overlapping fragments run in O(log n + k).
+ * @author rbossy
+ *
+ * @param <T> type of the items associated to fragments.
+ */
+public class FragmentIndex<T> {
+	private static class Entry<T> {
+		private final ImmutableFragment fragment;
+		private final T item;
+
+		private Entry(ImmutableFragment fragment, T item) {
+			super();
+			this.fragment = fragment;
+			this.item = item;
+		}
+	}
+
+	private final List<Entry<T>> entries = new ArrayList<Entry<T>>();
+	private int[] starts = null;
+	private int[] ends = null;
+	private int[] maxEnds = null;
+	private List<T> items = null;
+
+	/**
+	 * Creates an empty index.
+	 */
+	public FragmentIndex() {
+		super();
+	}
+
+	/**
+	 * Adds a fragment to this index.
+	 * @param fragment fragment.
+	 * @param item item associated to the fragment.
+	 */
+	public synchronized void add(ImmutableFragment fragment, T item) {
+		entries.add(new Entry<T>(fragment, item));
+		starts = null;
+	}
+
+	/**
+	 * Returns the number of fragments in this index.
+	 * @return the number of fragments in this index.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	private synchronized void build() {
+		if (starts != null) {
+			return;
+		}
+		int n = entries.size();
+		List<Entry<T>> sorted = new ArrayList<Entry<T>>(entries);
+		Collections.sort(sorted, new Comparator<Entry<T>>() {
+			@Override
+			public int compare(Entry<T> o1, Entry<T> o2) {
+				return FragmentComparator.START_INVERSE_END.compare(o1.fragment, o2.fragment);
+			}
+		});
+		ends = new int[n];
+		maxEnds = new int[n];
+		items = new ArrayList<T>(n);
+		int[] starts = new int[n];
+		for (int i = 0; i < n; ++i) {
+			Entry<T> e = sorted.get(i);
+			starts[i] = e.fragment.getStart();
+			ends[i] = e.fragment.getEnd();
+			items.add(e.item);
+		}
+		buildMaxEnds(0, n);
+		this.starts = starts;
+	}
+
+	private int buildMaxEnds(int lo, int hi) {
+		if (lo >= hi) {
+			return Integer.MIN_VALUE;
+		}
+		int mid = (lo + hi) >>> 1;
+		int result = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+		maxEnds[mid] = result;
+		return result;
+	}
+
+	/**
+	 * Collects the items of all fragments that overlap the specified positions.
+	 * A fragment overlaps if it has at least one character in common.
+	 * Items are collected in the order of their fragment start position.
+	 * @param start start position.
+	 * @param end end position.
+	 * @param target collection where to store items.
+	 * @return target.
+	 */
+	public <C extends Collection<? super T>> C collectOverlapping(int start, int end, C target) {
+		build();
+		collectOverlapping(0, starts.length, start, end, target);
+		return target;
+	}
+
+	/**
+	 * Collects the items of all fragments that overlap the specified fragment.
+	 * @param fragment fragment.
+	 * @param target collection where to store items.
+	 * @return target.
+	 */
+	public <C extends Collection<? super T>> C collectOverlapping(Fragment fragment, C target) {
+		return collectOverlapping(fragment.getStart(), fragment.getEnd(), target);
+	}
+
+	private void collectOverlapping(int lo, int hi, int start, int end, Collection<? super T> target) {
+		if (lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		if (maxEnds[mid] <= start) {
+			return;
+		}
+		collectOverlapping(lo, mid, start, end, target);
+		if (starts[mid] >= end) {
+			return;
+		}
+		if (ends[mid] > start) {
+			target.add(items.get(mid));
+		}
+		collectOverlapping(mid + 1, hi, start, end, target);
+	}
+}
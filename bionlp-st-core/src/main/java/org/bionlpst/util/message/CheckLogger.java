@@ -3,37 +3,213 @@ package org.bionlpst.util.message;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import org.bionlpst.util.Location;
 import org.bionlpst.util.Util;
 
 /**
  * Message container.
+ * A container can be limited in two ways, both are disabled by default.
+ * The error limit is the number of serious messages after which the container stops recording messages, long-running loops stop when the limit is reached.
+ * The category limit is the number of messages recorded for each category, a category groups messages with the same level and the same body once details after a colon, numbers, and quoted or bracketed parts are blanked.
+ * Messages that are not recorded still count for the highest level, they are summarized at the end of the message list: one summary for each category, and one for messages added after the error limit or that would have created more than MAX_CATEGORIES categories.
  * @author rbossy
  *
  */
 public class CheckLogger {
+	/**
+	 * Maximum number of categories in a container.
+	 */
+	public static final int MAX_CATEGORIES = 1000;
+	private static final Pattern CATEGORY_BLANKS = Pattern.compile("'[^']*'|\\[[^\\]]*\\]|\\([^)]*\\)|[^\\s\\[\\]()']*\\d[^\\s\\[\\]()']*");
+
 	private final Collection<CheckMessage> messages = new ArrayList<CheckMessage>();
 	private CheckMessageLevel highestLevel = null;
+	private int maxErrors = 0;
+	private int maxMessagesPerCategory = 0;
+	private int errors = 0;
+	private final Map<String,Category> categories = new LinkedHashMap<String,Category>();
+	private Category overflow = new Category();
+	private CheckMessage stop = null;
+
+	/**
+	 * Creates a new unlimited message container.
+	 */
+	public CheckLogger() {
+		super();
+	}
+
+	/**
+	 * Creates a new empty message container with the same limits as the specified container.
+	 * @param limits container from which limits are copied.
+	 */
+	public CheckLogger(CheckLogger limits) {
+		this();
+		this.maxErrors = limits.maxErrors;
+		this.maxMessagesPerCategory = limits.maxMessagesPerCategory;
+	}
 
 	/**
 	 * Returns all messages.
-	 * @return all messages. The returned collection is an unmodifiable view.
+	 * @return all messages. If some messages were not recorded, then the returned collection ends with a summary message for each category. The returned collection is an unmodifiable view.
 	 */
 	public Collection<CheckMessage> getMessages() {
-		return Collections.unmodifiableCollection(messages);
+		if (stop == null && categories.isEmpty() && overflow.skipped == 0) {
+			return Collections.unmodifiableCollection(messages);
+		}
+		List<CheckMessage> result = new ArrayList<CheckMessage>(messages);
+		if (stop != null) {
+			result.add(stop);
+		}
+		for (Map.Entry<String,Category> e : categories.entrySet()) {
+			Category cat = e.getValue();
+			if (cat.skipped > 0) {
+				result.add(new CheckMessage(cat.first.getLevel(), cat.first.getLocation(), String.format("%,d more messages like '%s'", cat.skipped, getCategoryBody(cat.first))));
+			}
+		}
+		if (overflow.skipped > 0) {
+			result.add(new CheckMessage(overflow.first.getLevel(), overflow.first.getLocation(), String.format("%,d more messages", overflow.skipped)));
+		}
+		return Collections.unmodifiableCollection(result);
 	}
-	
+
 	/**
 	 * Adds a message to this logger.
 	 * @param msg message to add.
 	 */
 	public void addMessage(CheckMessage msg) {
-		messages.add(Util.notnull(msg));
+		Util.notnull(msg);
 		CheckMessageLevel level = msg.getLevel();
 		if (highestLevel == null || level.severity > highestLevel.severity) {
 			highestLevel = level;
 		}
+		if (hasReachedErrorLimit()) {
+			skip(overflow, msg, 1);
+			return;
+		}
+		if (maxMessagesPerCategory > 0) {
+			Category cat = getCategory(msg);
+			if (cat == overflow || cat.recorded >= maxMessagesPerCategory) {
+				skip(cat, msg, 1);
+				countErrors(msg, 1);
+				return;
+			}
+			cat.recorded++;
+		}
+		messages.add(msg);
+		countErrors(msg, 1);
+	}
+
+	/**
+	 * Counts the specified number of serious errors if the specified message is serious, whether or not they are recorded.
+	 */
+	private void countErrors(CheckMessage msg, int n) {
+		if (msg.getLevel() != CheckMessageLevel.SERIOUS || hasReachedErrorLimit()) {
+			return;
+		}
+		errors += n;
+		if (hasReachedErrorLimit()) {
+			stop = new CheckMessage(CheckMessageLevel.SERIOUS, msg.getLocation(), "too many serious errors (" + errors + "), stopped checking");
+		}
+	}
+
+	/**
+	 * Adds all messages of the specified logger to this logger, including messages that the specified logger did not record.
+	 * @param logger logger to merge.
+	 */
+	public void addMessages(CheckLogger logger) {
+		CheckLogger recorded = logger.getRecorded();
+		for (CheckMessage msg : recorded.getRecordedMessages()) {
+			addMessage(msg);
+		}
+		addSkipped(recorded);
+	}
+
+	/**
+	 * Returns a logger that holds the messages recorded by this logger, and the counts of messages not recorded.
+	 * @return this logger.
+	 */
+	CheckLogger getRecorded() {
+		return this;
+	}
+
+	/**
+	 * Returns the messages recorded by this logger, without the summaries of messages not recorded.
+	 * @return the messages recorded by this logger.
+	 */
+	Collection<CheckMessage> getRecordedMessages() {
+		return messages;
+	}
+
+	/**
+	 * Adds the counts of messages not recorded by the specified logger to this logger.
+	 * @param recorded logger.
+	 */
+	void addSkipped(CheckLogger recorded) {
+		for (Category cat : recorded.categories.values()) {
+			if (cat.skipped > 0) {
+				CheckMessageLevel level = cat.first.getLevel();
+				if (highestLevel == null || level.severity > highestLevel.severity) {
+					highestLevel = level;
+				}
+				skip(getCategory(cat.first), cat.first, cat.skipped);
+				countErrors(cat.first, cat.skipped);
+			}
+		}
+		Category other = recorded.overflow;
+		if (other.skipped > 0) {
+			CheckMessageLevel level = other.first.getLevel();
+			if (highestLevel == null || level.severity > highestLevel.severity) {
+				highestLevel = level;
+			}
+			skip(overflow, other.first, other.skipped);
+		}
+	}
+
+	/**
+	 * Returns the category of the specified message, or the overflow category if there are already MAX_CATEGORIES categories.
+	 */
+	private Category getCategory(CheckMessage msg) {
+		String key = msg.getLevel() + " " + getCategoryBody(msg);
+		if (categories.containsKey(key)) {
+			return categories.get(key);
+		}
+		if (categories.size() >= MAX_CATEGORIES) {
+			return overflow;
+		}
+		Category result = new Category();
+		categories.put(key, result);
+		return result;
+	}
+
+	private static String getCategoryBody(CheckMessage msg) {
+		String body = msg.getBody();
+		int colon = body.indexOf(": ");
+		if (colon != -1) {
+			body = body.substring(0, colon);
+		}
+		return CATEGORY_BLANKS.matcher(body).replaceAll("*");
+	}
+
+	private static void skip(Category cat, CheckMessage msg, int n) {
+		if (cat.first == null) {
+			cat.first = msg;
+		}
+		cat.skipped += n;
+	}
+
+	private static class Category {
+		private int recorded = 0;
+		private int skipped = 0;
+		private CheckMessage first = null;
+
+		private Category() {
+			super();
+		}
 	}
 
 	/**
@@ -43,15 +219,61 @@ public class CheckLogger {
 	public CheckMessageLevel getHighestLevel() {
 		return highestLevel;
 	}
-	
+
+	/**
+	 * Returns true if as many serious messages as the error limit were added to this logger.
+	 * All serious messages count, including those that were not recorded because their category was full.
+	 * Long-running checks should stop when this method returns true.
+	 * @return true if as many serious messages as the error limit were added to this logger, always false if there is no error limit.
+	 */
+	public boolean hasReachedErrorLimit() {
+		return maxErrors > 0 && errors >= maxErrors;
+	}
+
+	/**
+	 * Returns the error limit.
+	 * @return the error limit, 0 if there is no limit.
+	 */
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+
 	/**
-	 * Removes all messages.
+	 * Sets the number of serious messages after which this logger stops recording messages.
+	 * @param maxErrors error limit, 0 for no limit.
+	 */
+	public void setMaxErrors(int maxErrors) {
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * Returns the category limit.
+	 * @return the category limit, 0 if there is no limit.
+	 */
+	public int getMaxMessagesPerCategory() {
+		return maxMessagesPerCategory;
+	}
+
+	/**
+	 * Sets the number of messages recorded for each category.
+	 * @param maxMessagesPerCategory category limit, 0 for no limit.
+	 */
+	public void setMaxMessagesPerCategory(int maxMessagesPerCategory) {
+		this.maxMessagesPerCategory = maxMessagesPerCategory;
+	}
+
+	/**
+	 * Removes all messages. Limits are kept but counts are reset.
 	 */
 	public void clear() {
 		messages.clear();
 		highestLevel = null;
+		errors = 0;
+		categories.clear();
+		overflow = new Category();
+		stop = null;
 	}
-	
+
 	/**
 	 * Adds a message to this logger.
 	 * @param level level of the message.
@@ -61,7 +283,7 @@ public class CheckLogger {
 	public void addMessage(CheckMessageLevel level, Location location, String body) {
 		addMessage(new CheckMessage(level, location, body));
 	}
-	
+
 	/**
 	 * Adds an information-level message to this logger.
 	 * @param location location referenced by the message.
@@ -79,7 +301,7 @@ public class CheckLogger {
 	public void tolerable(Location location, String body) {
 		addMessage(new CheckMessage(CheckMessageLevel.TOLERABLE, location, body));
 	}
-	
+
 	/**
 	 * Adds a suspicious-level message to this logger.
 	 * @param location location referenced by the message.
@@ -88,7 +310,7 @@ public class CheckLogger {
 	public void suspicious(Location location, String body) {
 		addMessage(new CheckMessage(CheckMessageLevel.SUSPICIOUS, location, body));
 	}
-	
+
 	/**
 	 * Adds a serious-level message to this logger.
 	 * @param location location referenced by the message.
@@ -0,0 +1,33 @@
+package org.bionlpst.util.message;
+
+import java.util.Comparator;
+
+import org.bionlpst.util.Location;
+
+/**
+ * Message comparator by location: source name, then line number. Messages at the same location are ordered by decreasing severity, then by body.
+ * @author rbossy
+ *
+ */
+public enum CheckMessageComparator implements Comparator<CheckMessage> {
+	INSTANCE {
+		@Override
+		public int compare(CheckMessage o1, CheckMessage o2) {
+			Location l1 = o1.getLocation();
+			Location l2 = o2.getLocation();
+			int r = l1.getSource().compareTo(l2.getSource());
+			if (r != 0) {
+				return r;
+			}
+			r = Integer.compare(l1.getLineno(), l2.getLineno());
+			if (r != 0) {
+				return r;
+			}
+			r = Integer.compare(o2.getLevel().severity, o1.getLevel().severity);
+			if (r != 0) {
+				return r;
+			}
+			return o1.getBody().compareTo(o2.getBody());
+		}
+	};
+}
@@ -0,0 +1,118 @@
+package org.bionlpst.util.message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bionlpst.util.Util;
+
+/**
+ * Message container that can be filled concurrently by several threads without locking.
+ * Messages are stored in a concurrent queue and the highest level is updated atomically.
+ * Every message is stored, limits are not applied when messages are added.
+ * When messages are read back, they are sorted by location with CheckMessageComparator, then limits are applied on the sorted messages, so that the result does not depend on thread scheduling.
+ * hasReachedErrorLimit() counts all serious messages added so far, producers may use it to stop early, in which case the result depends on how many messages were produced before they stopped.
+ * @author rbossy
+ *
+ */
+public class ConcurrentCheckLogger extends CheckLogger {
+	private final Queue<CheckMessage> messages = new ConcurrentLinkedQueue<CheckMessage>();
+	private final Queue<CheckLogger> merged = new ConcurrentLinkedQueue<CheckLogger>();
+	private final AtomicReference<CheckMessageLevel> highestLevel = new AtomicReference<CheckMessageLevel>();
+	private final AtomicInteger errors = new AtomicInteger();
+
+	/**
+	 * Creates a new unlimited concurrent message container.
+	 */
+	public ConcurrentCheckLogger() {
+		super();
+	}
+
+	/**
+	 * Creates a new empty concurrent message container with the same limits as the specified container.
+	 * @param limits container from which limits are copied.
+	 */
+	public ConcurrentCheckLogger(CheckLogger limits) {
+		super(limits);
+	}
+
+	@Override
+	public void addMessage(CheckMessage msg) {
+		Util.notnull(msg);
+		updateHighestLevel(msg.getLevel());
+		messages.add(msg);
+		if (msg.getLevel() == CheckMessageLevel.SERIOUS) {
+			errors.incrementAndGet();
+		}
+	}
+
+	private void updateHighestLevel(CheckMessageLevel level) {
+		while (true) {
+			CheckMessageLevel current = highestLevel.get();
+			if (current != null && current.severity >= level.severity) {
+				return;
+			}
+			if (highestLevel.compareAndSet(current, level)) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void addMessages(CheckLogger logger) {
+		CheckLogger recorded = logger.getRecorded();
+		if (recorded.getHighestLevel() != null) {
+			updateHighestLevel(recorded.getHighestLevel());
+		}
+		for (CheckMessage msg : recorded.getRecordedMessages()) {
+			addMessage(msg);
+		}
+		merged.add(recorded);
+	}
+
+	/**
+	 * Returns a sequential logger with the same limits as this logger, filled with the messages of this logger sorted by location.
+	 */
+	@Override
+	CheckLogger getRecorded() {
+		List<CheckMessage> sorted = new ArrayList<CheckMessage>(messages);
+		Collections.sort(sorted, CheckMessageComparator.INSTANCE);
+		CheckLogger result = new CheckLogger(this);
+		for (CheckMessage msg : sorted) {
+			result.addMessage(msg);
+		}
+		for (CheckLogger logger : merged) {
+			result.addSkipped(logger);
+		}
+		return result;
+	}
+
+	@Override
+	public Collection<CheckMessage> getMessages() {
+		return getRecorded().getMessages();
+	}
+
+	@Override
+	public CheckMessageLevel getHighestLevel() {
+		return highestLevel.get();
+	}
+
+	@Override
+	public boolean hasReachedErrorLimit() {
+		int maxErrors = getMaxErrors();
+		return maxErrors > 0 && errors.get() >= maxErrors;
+	}
+
+	@Override
+	public void clear() {
+		messages.clear();
+		merged.clear();
+		highestLevel.set(null);
+		errors.set(0);
+	}
+}
@@ -34,6 +34,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 import org.bionlpst.BioNLPSTException;
+import org.bionlpst.app.ReferenceCorpusCache;
 import org.bionlpst.app.Task;
 import org.bionlpst.app.web.json.CheckMessageJsonConverter;
 import org.bionlpst.app.web.json.EvaluationResultJsonConverter;
@@ -85,6 +86,8 @@ public class BioNLPSTRest {
 		"N",
 	};
 	
+	private static final ReferenceCorpusCache REFERENCE_CORPUS_CACHE = new ReferenceCorpusCache();
+	
 	private final Map<String,Task> taskMap;
 	private final CheckLogger logger = new CheckLogger();
 	private final String checkGoogleTokenURL;
@@ -108,6 +111,8 @@ public class BioNLPSTRest {
 			checkGoogleTokenURL = props.getProperty("checkGoogleTokenURL");
 			databasePath = props.getProperty("databasePath");
 			superuser = props.getProperty("superuser");
+			logger.setMaxErrors(Integer.parseInt(props.getProperty("maxErrors", "1000")));
+			logger.setMaxMessagesPerCategory(Integer.parseInt(props.getProperty("maxMessagesPerCategory", "100")));
 		}
 	}
 	
@@ -189,15 +194,15 @@ public class BioNLPSTRest {
 			return null;
 		}
 		switch (set) {
-			case "train": return task.getTrainCorpus(logger);
-			case "dev": return task.getDevCorpus(logger);
-			case "train+dev": return task.getTrainAndDevCorpus(logger);
+			case "train":
+			case "dev":
+			case "train+dev": return REFERENCE_CORPUS_CACHE.getCorpus(logger, task, set);
 			case "test": {
 				if (!task.hasTest()) {
 					logger.serious(REST_URL_LOCATION, "test set is not available for " + task.getName());
 					return null;
 				}
-				return task.getTestCorpus(logger);
+				return REFERENCE_CORPUS_CACHE.getCorpus(logger, task, set);
 			}
 			default: {
 				throw new RuntimeException("unknown set: " + set);
@@ -214,7 +219,7 @@ public class BioNLPSTRest {
 		predictionParser.fillPredictions(logger, corpus);
 		corpus.resolveReferences(logger);
 		Task.checkParsedPredictions(logger, corpus, zipInfo.getFileName());
-		task.checkSchema(logger, corpus);
+		task.checkPredictionSchema(logger, corpus);
 	}
 	
 	private String finish(JSONObject result) throws Exception {
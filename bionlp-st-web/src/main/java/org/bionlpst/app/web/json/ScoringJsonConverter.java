@@ -1,14 +1,13 @@
 package org.bionlpst.app.web.json;
 
-import org.bionlpst.corpus.Annotation;
-import org.bionlpst.evaluation.Scoring;
+import org.bionlpst.evaluation.ScoringHeader;
 import org.codehaus.jettison.json.JSONObject;
 
-public enum ScoringJsonConverter implements JsonConverter<Scoring<Annotation>> {
+public enum ScoringJsonConverter implements JsonConverter<ScoringHeader> {
 	INSTANCE;
 
 	@Override
-	public JSONObject convert(Scoring<Annotation> scoring) throws Exception {
+	public JSONObject convert(ScoringHeader scoring) throws Exception {
 		JSONObject result = new JSONObject();
 		result.put("name", scoring.getName());
 		result.put("measures", ListJsonConverter.convert(MeasureJsonConverter.INSTANCE, scoring.getMeasures()));
@@ -13,7 +13,7 @@ public enum TaskJsonConverter implements JsonConverter<Task> {
 		result.put("description", task.getDescription());
 		result.put("test-check", task.hasTest());
 		result.put("test-evaluate", task.isTestHasReferenceAnnotations());
-		result.put("evaluations", ListJsonConverter.convert(EvaluationJsonConverter.INSTANCE, task.getEvaluations()));
+		result.put("evaluations", ListJsonConverter.convert(EvaluationJsonConverter.INSTANCE, task.getEvaluationHeaders()));
 		return result;
 	}
 }